@@ -0,0 +1,114 @@
+package com.tacs2022.wordlehelper.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import com.tacs2022.wordlehelper.domain.Language;
+import com.tacs2022.wordlehelper.domain.dictionary.Word;
+import com.tacs2022.wordlehelper.service.dictionaryapis.OxfordDictionaryAPI;
+import com.tacs2022.wordlehelper.service.dictionaryapis.OxfordDictionaryWord;
+import io.github.cdimascio.dotenv.Dotenv;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks up a word in a local server that answers like the Oxford dictionary API, to measure what the
+ * client costs per lookup: a new client and a read of the .env file per lookup, as lookups used to be
+ * done, against the shared client that keeps its connections alive, waiting for the answer or not.
+ *
+ * The local server speaks plain HTTP, so the TLS handshake a new connection to the real API also pays
+ * is not part of the difference.
+ *
+ * Run with: mvn -P benchmark verify -Djmh.include=DictionaryClientBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DictionaryClientBenchmark {
+
+    private static final byte[] ENTRY = ("{\"id\":\"crane\",\"results\":[{\"language\":\"en-us\",\"lexicalEntries\":[{\"entries\":"
+            + "[{\"senses\":[{\"definitions\":[\"a large, tall bird with long legs\"]}]}]}]}]}").getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+    private Path envDirectory;
+    private String baseUrl;
+    private OxfordDictionaryAPI dictionaryAPI;
+
+    @Setup
+    public void setUp() throws IOException {
+        //the server writes the headers and the body apart, without this every answer waits for a delayed ack
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/api/v2/entries/", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, ENTRY.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(ENTRY);
+            }
+        });
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort() + "/api/v2";
+
+        envDirectory = Files.createTempDirectory("dictionary-benchmark");
+        Files.write(envDirectory.resolve(".env"), List.of("OXFORD_DICTIONARY_API_ID=id", "OXFORD_DICTIONARY_API_KEY=key"));
+
+        dictionaryAPI = new OxfordDictionaryAPI(HttpClient.newHttpClient(), new ObjectMapper(), baseUrl, Duration.ofSeconds(5),
+                "id", "key");
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        server.stop(0);
+        Files.deleteIfExists(envDirectory.resolve(".env"));
+        Files.deleteIfExists(envDirectory);
+    }
+
+    @Benchmark
+    public Word clientPerLookup() {
+        RestTemplate restTemplate = new RestTemplate();
+        Dotenv dotenv = Dotenv.configure().directory(envDirectory.toString()).load();
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("app_id", dotenv.get("OXFORD_DICTIONARY_API_ID"));
+        headers.add("app_key", dotenv.get("OXFORD_DICTIONARY_API_KEY"));
+
+        return restTemplate.exchange(String.format(baseUrl + "/entries/%s/%s", "en", "crane"), HttpMethod.GET,
+                new HttpEntity<>(headers), OxfordDictionaryWord.class).getBody().asWord();
+    }
+
+    @Benchmark
+    public Word sharedClient() {
+        return dictionaryAPI.getWordDefinition("crane", Language.EN);
+    }
+
+    @Benchmark
+    public Word asyncClient() {
+        return dictionaryAPI.getWordDefinitionAsync("crane", Language.EN, Runnable::run).join();
+    }
+}
@@ -0,0 +1,77 @@
+package com.tacs2022.wordlehelper.benchmark;
+
+import com.tacs2022.wordlehelper.domain.Language;
+import com.tacs2022.wordlehelper.domain.play.WordPlay;
+import com.tacs2022.wordlehelper.service.HelperBatchService;
+import com.tacs2022.wordlehelper.service.HelperService;
+import com.tacs2022.wordlehelper.service.helper.BatchPlay;
+import com.tacs2022.wordlehelper.service.helper.BatchResult;
+import com.tacs2022.wordlehelper.service.helper.PlayConstraints;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves a batch of plays through {@link HelperBatchService}, without the result cache so every play
+ * is resolved against the index.
+ *
+ * Run with: mvn -P benchmark verify (see the benchmark profile in the pom).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HelperBatchBenchmark {
+
+    @Param({"8", "100"})
+    private int plays;
+
+    private ExecutorService executor;
+    private HelperBatchService helperBatchService;
+    private List<BatchPlay> batch;
+
+    @Setup
+    public void setUp() {
+        HelperService helperService = new HelperService(0, "");
+        helperService.init();
+        int threads = Runtime.getRuntime().availableProcessors();
+        executor = Executors.newFixedThreadPool(threads);
+        helperBatchService = new HelperBatchService(executor, threads);
+        ReflectionTestUtils.setField(helperBatchService, "helperService", helperService);
+
+        batch = new ArrayList<>(plays);
+        for (int i = 0 ; i < plays ; i++) {
+            char letter = (char) ('a' + i % 26);
+            Language language = i % 2 == 0 ? Language.EN : Language.ES;
+            batch.add(new BatchPlay(PlayConstraints.of(new WordPlay("", "", letter + "____"), 5), language));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public List<BatchResult> getCandidates() {
+        return helperBatchService.getCandidates(batch);
+    }
+}
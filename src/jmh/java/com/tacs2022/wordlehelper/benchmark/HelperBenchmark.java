@@ -0,0 +1,143 @@
+package com.tacs2022.wordlehelper.benchmark;
+
+import com.tacs2022.wordlehelper.domain.Language;
+import com.tacs2022.wordlehelper.domain.play.WordPlay;
+import com.tacs2022.wordlehelper.service.HelperService;
+import com.tacs2022.wordlehelper.service.helper.HelperResultCache;
+import com.tacs2022.wordlehelper.service.helper.PlayConstraints;
+import com.tacs2022.wordlehelper.service.helper.WordCorpus;
+import com.tacs2022.wordlehelper.service.helper.WordIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves single plays through {@link HelperService#getWordsByPlay}, with and without the result cache,
+ * so regressions both in the index and in the cache show up.
+ *
+ * Plays are also resolved straight on the index of synthetic corpora larger than the built-in lists, in
+ * the calling thread and split across a pool, to find the size from which splitting pays off
+ * ({@link WordIndex#PARALLEL_THRESHOLD}).
+ *
+ * Run with: mvn -P benchmark verify (see the benchmark profile in the pom).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HelperBenchmark {
+
+    public enum Play {
+        //every word of the language is possible
+        EMPTY("", "", ""),
+        //a few words left after several rounds
+        CONSTRAINED("PTIS", "2E1L", "C____"),
+        //only grey letters, lots of excluded postings and many words left
+        ALL_GRAY("QWXZJVKFY", "", "");
+
+        private final String gray;
+        private final String yellow;
+        private final String green;
+
+        Play(String gray, String yellow, String green) {
+            this.gray = gray;
+            this.yellow = yellow;
+            this.green = green;
+        }
+
+        WordPlay toWordPlay() {
+            return new WordPlay(gray, yellow, green);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class BuiltInLists {
+        @Param({"EN", "ES"})
+        private Language language;
+
+        @Param
+        private Play play;
+
+        @Param({"true", "false"})
+        private boolean cached;
+
+        private HelperService helperService;
+        private WordPlay wordPlay;
+
+        @Setup
+        public void setUp() {
+            //a cache of no bytes keeps nothing, so every play is resolved against the index
+            helperService = new HelperService(cached ? HelperResultCache.DEFAULT_MAX_BYTES : 0, "");
+            helperService.init();
+            wordPlay = play.toWordPlay();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class LargeCorpus {
+        @Param({"16384", "32768", "65536", "131072", "262144"})
+        private int words;
+
+        @Param({"true", "false"})
+        private boolean pooled;
+
+        private WordIndex index;
+        private PlayConstraints constraints;
+        private ForkJoinPool pool;
+
+        @Setup
+        public void setUp() {
+            //random distinct words, so the postings are about as dense as the ones of a real list
+            Random random = new Random(words);
+            Set<String> corpus = new LinkedHashSet<>();
+            char[] word = new char[HelperService.WORD_LENGTH];
+            while (corpus.size() < words) {
+                for (int i = 0 ; i < word.length ; i++) word[i] = (char) ('A' + random.nextInt(26));
+                corpus.add(new String(word));
+            }
+            index = new WordIndex(WordCorpus.of(Language.EN, HelperService.WORD_LENGTH, new ArrayList<>(corpus)));
+            constraints = PlayConstraints.of(Play.ALL_GRAY.toWordPlay(), HelperService.WORD_LENGTH);
+            //at least two threads, a pool of one is never split across
+            if (pooled) pool = new ForkJoinPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        }
+
+        @TearDown
+        public void tearDown() {
+            if (pool != null) pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public List<String> getWordsByPlay(BuiltInLists lists) {
+        return lists.helperService.getWordsByPlay(lists.wordPlay, lists.language);
+    }
+
+    @Benchmark
+    public int countWordsByPlay(BuiltInLists lists) {
+        return lists.helperService.getCandidates(lists.wordPlay, lists.language, HelperService.WORD_LENGTH).count();
+    }
+
+    @Benchmark
+    public long[] candidatesOfLargeCorpus(LargeCorpus large) {
+        //split regardless of the size when pooled, to compare both ways at every size
+        return large.index.candidates(large.constraints, large.pool, 0);
+    }
+}
@@ -0,0 +1,67 @@
+package com.tacs2022.wordlehelper;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class DictionaryConfig {
+
+    /**
+     * Pool the dictionary is looked up on. Lookups wait on the dictionary API rather than on the CPU, so
+     * they are kept off the common pool, where they would hold threads the CPU bound work needs. When its
+     * queue is full lookups are rejected rather than run by the thread that needs the word, which would be
+     * a request thread.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService dictionaryExecutor(@Value("${dictionary.lookup.threads:16}") int threads,
+                                              @Value("${dictionary.lookup.queue-capacity:256}") int queueCapacity) {
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                daemonThreads("dictionary-lookup-"), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Threads the client of the dictionary API handles answers on, apart from the lookup pool so a busy
+     * lookup pool never holds up reading the answers of the lookups in flight.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService dictionaryHttpExecutor(@Value("${dictionary.http.threads:4}") int threads) {
+        return Executors.newFixedThreadPool(threads, daemonThreads("dictionary-http-"));
+    }
+
+    /**
+     * Client of the dictionary API, shared by every lookup. Lookups wait for the dictionary without holding a
+     * thread and are completed on the client's own pool. The client keeps its connections alive and reuses them
+     * across lookups instead of opening one (and doing a TLS handshake) per word; how many idle connections it
+     * keeps and for how long are set with the jdk.httpclient.connectionPoolSize and jdk.httpclient.keepalive.timeout
+     * system properties, since the JDK has no API for them.
+     */
+    @Bean
+    public HttpClient dictionaryHttpClient(@Value("${dictionary.http.connect-timeout:2s}") Duration connectTimeout,
+                                           @Qualifier("dictionaryHttpExecutor") ExecutorService dictionaryHttpExecutor) {
+        return HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .executor(dictionaryHttpExecutor)
+                .build();
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger created = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + created.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package com.tacs2022.wordlehelper;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class HelperConfig {
+
+    /**
+     * Pool for the CPU bound work of the helper (i.e.: ranking guesses). It's kept apart from the common
+     * pool, which is shared with the rest of the application and the servlet container.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool helperPool(@Value("${helper.pool.parallelism:0}") int parallelism) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Pool for the simulations of the solver, which keep every thread they get busy for seconds. It's kept
+     * apart from the helper pool so a simulation doesn't delay the requests of the users.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool simulationPool(@Value("${helper.simulation.parallelism:1}") int parallelism) {
+        return new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Pool for the plays of batch requests. Both its threads and its queue are bounded, and when they
+     * are full the request thread evaluates the play itself, which slows down the caller instead of
+     * piling up work.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService helperBatchExecutor(@Value("${helper.batch.threads:0}") int threads,
+                                               @Value("${helper.batch.queue-capacity:256}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger created = new AtomicInteger();
+        return new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "helper-batch-" + created.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
@@ -2,11 +2,9 @@ package com.tacs2022.wordlehelper;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
 
 @SpringBootApplication
-@EnableCaching
 @EnableMongoRepositories
 public class WordleHelperApplication {
 
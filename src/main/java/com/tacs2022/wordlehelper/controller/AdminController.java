@@ -1,16 +1,93 @@
 package com.tacs2022.wordlehelper.controller;
+import com.tacs2022.wordlehelper.domain.Language;
+import com.tacs2022.wordlehelper.dtos.admin.OutputCacheStatsDto;
+import com.tacs2022.wordlehelper.dtos.admin.OutputSimulationJobDto;
+import com.tacs2022.wordlehelper.dtos.admin.OutputWordListDto;
+import com.tacs2022.wordlehelper.service.DictionaryService;
+import com.tacs2022.wordlehelper.service.HelperService;
+import com.tacs2022.wordlehelper.service.SuggestionService;
+import com.tacs2022.wordlehelper.service.helper.FeedbackMatrices;
+import com.tacs2022.wordlehelper.service.helper.WordIndex;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.tacs2022.wordlehelper.controller.Parameters.validateLanguage;
+
 @RestController
 @RequestMapping("/v1/admin")
 public class AdminController {
 
+    @Autowired
+    private HelperService helperService;
+    @Autowired
+    private SuggestionService suggestionService;
+    @Autowired
+    private DictionaryService dictionaryService;
+    @Autowired
+    private FeedbackMatrices feedbackMatrices;
+
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
     @ResponseStatus(HttpStatus.OK)
     public String admin(@RequestBody String body) {
         System.out.println(body);
         return body;
     }
+
+    @GetMapping(value = "/caches", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public List<OutputCacheStatsDto> caches() {
+        return List.of(new OutputCacheStatsDto("helper-results", helperService.getResultCache()),
+                new OutputCacheStatsDto("dictionary-words", dictionaryService.getCache()));
+    }
+
+    /**
+     * Reads the word lists of the helper again, i.e.: after they were curated. Requests keep being
+     * answered with the previous lists until the new ones are ready. The feedback matrices of the lists
+     * that changed start building in the background, suggestions for them wait until they are built.
+     */
+    @PostMapping(value = "/helper/reload", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public List<OutputWordListDto> reloadHelper() {
+        List<WordIndex> indexes = helperService.reload();
+        feedbackMatrices.rebuild(indexes);
+        return indexes.stream()
+                .map(index -> new OutputWordListDto(index.getCorpus()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Starts solving every word of the language as the answer of a game following the suggestions of the
+     * helper, to compare strategies offline. It takes from a fraction of a second to several seconds,
+     * depending on the size of the word list and the cores of the simulation pool, so it runs in the
+     * background and its result is polled with {@link #getSimulation}. Only one simulation runs at a time.
+     *
+     * @param lan Language of the words
+     * @param length Length of the words, 5 by default
+     * @param hardMode Whether every guess must keep the hints revealed by the previous ones
+     * @return Id of the simulation, which is running
+     */
+    @PostMapping(value = "/helper/simulations", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public OutputSimulationJobDto simulate(@RequestParam(value = "language") String lan,
+                                           @RequestParam(value = "length", defaultValue = "5") int length,
+                                           @RequestParam(value = "hard", defaultValue = "false") boolean hardMode) {
+        Language language = validateLanguage(lan);
+        return new OutputSimulationJobDto(suggestionService.startSimulation(language, length, hardMode));
+    }
+
+    /**
+     * @param id Id of the simulation, as returned when it was started
+     * @return Whether the simulation is running, done or failed and, once done, the guesses taken on average
+     * and at most, how many answers took each number of guesses and the time it took
+     */
+    @GetMapping(value = "/helper/simulations/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public OutputSimulationJobDto getSimulation(@PathVariable(value = "id") String id) {
+        return new OutputSimulationJobDto(suggestionService.getSimulation(id));
+    }
 }
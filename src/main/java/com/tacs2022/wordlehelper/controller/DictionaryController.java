@@ -3,7 +3,6 @@ package com.tacs2022.wordlehelper.controller;
 
 import com.tacs2022.wordlehelper.domain.Language;
 import com.tacs2022.wordlehelper.domain.dictionary.Word;
-import com.tacs2022.wordlehelper.exceptions.NotFoundException;
 import com.tacs2022.wordlehelper.service.DictionaryService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,6 +10,10 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
+import static com.tacs2022.wordlehelper.controller.Parameters.validateLanguage;
+
 @RestController
 @RequestMapping("/v1/dictionaries")
 public class DictionaryController {
@@ -18,17 +21,13 @@ public class DictionaryController {
     @Autowired
     DictionaryService dictionaryService;
 
+    /**
+     * Looks up the definition of a word. The request thread is released while the dictionary answers,
+     * so a slow dictionary does not hold the threads of other endpoints.
+     */
     @GetMapping("/{language}/words/{word}")
-    public Word getWord(@PathVariable(value = "language") String lan, @PathVariable(value = "word") String wordName) {
+    public CompletableFuture<Word> getWord(@PathVariable(value = "language") String lan, @PathVariable(value = "word") String wordName) {
         Language language = validateLanguage(lan);
-        return dictionaryService.findByNameAndLanguage(wordName, language);
-    }
-
-    private Language validateLanguage(String language){
-        try {
-            return Language.valueOf(language.toUpperCase());
-        }catch (IllegalArgumentException e){
-            throw new NotFoundException("Language not found");
-        }
+        return dictionaryService.findByNameAndLanguageAsync(wordName, language);
     }
 }
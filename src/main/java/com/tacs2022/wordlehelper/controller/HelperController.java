@@ -1,28 +1,64 @@
 package com.tacs2022.wordlehelper.controller;
 
 import com.tacs2022.wordlehelper.domain.Language;
-import com.tacs2022.wordlehelper.domain.play.WordPlay;
 import com.tacs2022.wordlehelper.dtos.JsonResponseDto;
-import com.tacs2022.wordlehelper.exceptions.InvalidPlayException;
-import com.tacs2022.wordlehelper.exceptions.NotFoundException;
-import com.tacs2022.wordlehelper.exceptions.NullParametersException;
+import com.tacs2022.wordlehelper.dtos.helper.NewBatchPlayDto;
+import com.tacs2022.wordlehelper.dtos.helper.NewRoundDto;
+import com.tacs2022.wordlehelper.dtos.helper.OutputBatchResultDto;
+import com.tacs2022.wordlehelper.dtos.helper.OutputGameDto;
+import com.tacs2022.wordlehelper.dtos.helper.OutputLetterHistogramDto;
+import com.tacs2022.wordlehelper.dtos.helper.OutputSuggestionsDto;
+import com.tacs2022.wordlehelper.dtos.helper.OutputWordsPageDto;
+import com.tacs2022.wordlehelper.service.GameService;
+import com.tacs2022.wordlehelper.service.HelperBatchService;
 import com.tacs2022.wordlehelper.service.HelperService;
+import com.tacs2022.wordlehelper.service.SuggestionService;
+import com.tacs2022.wordlehelper.service.helper.BatchPlay;
+import com.tacs2022.wordlehelper.service.helper.BatchResult;
+import com.tacs2022.wordlehelper.service.helper.CandidateSet;
+import com.tacs2022.wordlehelper.service.helper.GuessRanking;
+import com.tacs2022.wordlehelper.service.helper.PlayConstraints;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.validation.Valid;
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 
+import static com.tacs2022.wordlehelper.controller.Parameters.validateLanguage;
 import static com.tacs2022.wordlehelper.service.HelperService.WORD_LENGTH;
 
 @RestController
 @RequestMapping("/v1/helper")
 public class HelperController {
+    private static final int MAX_SUGGESTIONS = 100;
+    private static final long MAX_BUDGET_MILLIS = 5000;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final int STREAM_FLUSH_WORDS = 256;
+    private static final String NDJSON = "application/x-ndjson";
+
     @Autowired
     private HelperService helperService;
+    @Autowired
+    private SuggestionService suggestionService;
+    @Autowired
+    private GameService gameService;
+    @Autowired
+    private HelperBatchService helperBatchService;
 
     /**
      * Generates a list of possible answers for the given combination of letters played based on
@@ -39,64 +75,230 @@ public class HelperController {
      * @param greenLettersPlayed A string of 5 characters that represent the letters and respective positions
      *                           they were played of those that resulted colored green, using '_' where no
      *                           green letter was played (i.e.: "T__O_")
-     * @return A list of possible words that could be the winning word based on the provided play
+     * @param length Length of the words of the game, 5 by default. There must be a word list for the language and length.
+     * @param limit Maximum number of words returned, up to {@value #MAX_PAGE_SIZE}. Every word is returned if it's not given.
+     * @param cursor Cursor returned as nextCursor by the previous page, 0 for the first page
+     * @return A list of possible words that could be the winning word based on the provided play, along with
+     * the cursor of the next page (null on the last one) and the total number of possible words
      */
     @GetMapping("/words")
-    public JsonResponseDto getPossibleWords(@RequestParam(value = "language") String lan, @RequestParam(value = "grey") String greyLettersPlayed,
-                                            @RequestParam(value = "yellow") String yellowLettersPlayed,
-                                            @RequestParam(value = "green") String greenLettersPlayed) {
+    public OutputWordsPageDto getPossibleWords(@RequestParam(value = "language") String lan, @RequestParam(value = "grey") String greyLettersPlayed,
+                                               @RequestParam(value = "yellow") String yellowLettersPlayed,
+                                               @RequestParam(value = "green") String greenLettersPlayed,
+                                               @RequestParam(value = "length", defaultValue = "5") int length,
+                                               @RequestParam(value = "limit", required = false) Integer limit,
+                                               @RequestParam(value = "cursor", defaultValue = "0") int cursor) {
+
+        PlayConstraints attemptedPlay = PlayConstraints.parse(greyLettersPlayed, yellowLettersPlayed, greenLettersPlayed, length);
+        Language language = validateLanguage(lan);
+        validatePage(limit, cursor);
+
+        CandidateSet possibleWords = helperService.getCandidates(attemptedPlay, language);
+        return new OutputWordsPageDto(possibleWords.page(cursor, limit == null ? Integer.MAX_VALUE : limit));
+    }
+
+    /**
+     * Same as {@link #getPossibleWords}, but writes the words as they are decoded, one JSON string per line,
+     * so large results start arriving right away and are never held in memory as a whole. Requested with
+     * "Accept: application/x-ndjson".
+     */
+    @GetMapping(value = "/words", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamPossibleWords(@RequestParam(value = "language") String lan, @RequestParam(value = "grey") String greyLettersPlayed,
+                                                                     @RequestParam(value = "yellow") String yellowLettersPlayed,
+                                                                     @RequestParam(value = "green") String greenLettersPlayed,
+                                                                     @RequestParam(value = "length", defaultValue = "5") int length,
+                                                                     @RequestParam(value = "limit", required = false) Integer limit,
+                                                                     @RequestParam(value = "cursor", defaultValue = "0") int cursor) {
 
-        validateParams(greyLettersPlayed, yellowLettersPlayed, greenLettersPlayed);
+        PlayConstraints attemptedPlay = PlayConstraints.parse(greyLettersPlayed, yellowLettersPlayed, greenLettersPlayed, length);
         Language language = validateLanguage(lan);
+        validatePage(limit, cursor);
 
-        WordPlay attemptedPlay = new WordPlay(greyLettersPlayed, yellowLettersPlayed, greenLettersPlayed);
+        CandidateSet possibleWords = helperService.getCandidates(attemptedPlay, language);
+        int maxWords = limit == null ? Integer.MAX_VALUE : limit;
 
-        List<String> possibleWords = helperService.getWordsByPlay(attemptedPlay, language);
-        return new JsonResponseDto("possibleWords", possibleWords);
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            int written = 0;
+            for (int ordinal = possibleWords.next(cursor) ; ordinal != CandidateSet.END && written < maxWords ; ordinal = possibleWords.next(ordinal + 1)) {
+                //words only have letters, so they need no escaping
+                writer.write('"');
+                writer.write(possibleWords.word(ordinal));
+                writer.write("\"\n");
+                if (++written % STREAM_FLUSH_WORDS == 0) writer.flush();
+            }
+            writer.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
     }
 
+    /**
+     * Counts the possible answers for the given play without listing them.
+     *
+     * @return The number of possible words, with the same parameters as {@link #getPossibleWords}
+     */
+    @GetMapping("/words/count")
+    public JsonResponseDto countPossibleWords(@RequestParam(value = "language") String lan, @RequestParam(value = "grey") String greyLettersPlayed,
+                                              @RequestParam(value = "yellow") String yellowLettersPlayed,
+                                              @RequestParam(value = "green") String greenLettersPlayed,
+                                              @RequestParam(value = "length", defaultValue = "5") int length) {
 
+        PlayConstraints attemptedPlay = PlayConstraints.parse(greyLettersPlayed, yellowLettersPlayed, greenLettersPlayed, length);
+        Language language = validateLanguage(lan);
 
+        return new JsonResponseDto("totalWords", helperService.getCandidates(attemptedPlay, language).count());
+    }
 
-    private void validateParams(String gray, String yellow, String green){
-        List<String> params = List.of(gray, yellow, green);
-        // Validate all null params. At least one of the params must be not null.
-        if (params.stream().allMatch(Objects::isNull)) throw new NullParametersException("At least one parameter must be not null");
+    /**
+     * Counts the letters of the possible answers for the given play, i.e.: to colour a keyboard by how
+     * likely each letter is.
+     *
+     * @return The number of possible words, how many of them contain each letter and how many have each
+     * letter in each position, with the same parameters as {@link #getPossibleWords}
+     */
+    @GetMapping("/words/histogram")
+    public OutputLetterHistogramDto getLetterHistogram(@RequestParam(value = "language") String lan, @RequestParam(value = "grey") String greyLettersPlayed,
+                                                       @RequestParam(value = "yellow") String yellowLettersPlayed,
+                                                       @RequestParam(value = "green") String greenLettersPlayed,
+                                                       @RequestParam(value = "length", defaultValue = "5") int length) {
 
-        // Validate that count of all characters sent is at least 5
-        if (params.stream().filter(Objects::nonNull)
-                .map(s -> s.replace("_", ""))
-                .map(s -> s.replaceAll("[0-9]", ""))
-                .reduce((acc, e) -> acc  + e)
-                .filter(s -> s.length() >= WORD_LENGTH).isEmpty())
-            throw new InvalidPlayException("A Wordle play must be of at least " + WORD_LENGTH + " characters combined");
+        PlayConstraints attemptedPlay = PlayConstraints.parse(greyLettersPlayed, yellowLettersPlayed, greenLettersPlayed, length);
+        Language language = validateLanguage(lan);
 
-        // Validate correct format of params => yellow and green must be five characters long, with only letters and '_'
-        validateYellowPlay(yellow);
-        validateGreenPlay(green);
+        return new OutputLetterHistogramDto(helperService.getCandidates(attemptedPlay, language).histogram());
     }
 
-    private void validateGreenPlay(String play){
-        if (play == null || play.isEmpty())
-            return;
-        if (!play.matches(String.format("[a-zA-Z_]{%s}", WORD_LENGTH)))
-            throw new InvalidPlayException("Green parameters must be five characters long and contain only letters or underscore");
+    /**
+     * Resolves many plays in one request, i.e.: to try out hypothetical plays. Plays are resolved in parallel
+     * and each one gets its own result, so a rejected play doesn't fail the rest of the batch.
+     *
+     * @param plays Up to {@value #MAX_BATCH_SIZE} plays, with the same parameters as {@link #getPossibleWords}
+     *              and whether the list of words is wanted or just how many there are
+     * @return The result of each play in the same order: the number of possible words and, if asked for,
+     * the words themselves, or the status and message of the error if the play was rejected
+     */
+    @PostMapping(value = "/words:batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public List<OutputBatchResultDto> getPossibleWordsBatch(@RequestBody List<NewBatchPlayDto> plays) {
+        if (plays.isEmpty() || plays.size() > MAX_BATCH_SIZE)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A batch must have between 1 and " + MAX_BATCH_SIZE + " plays");
+        if (plays.contains(null))
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Plays of a batch must not be null");
+
+        List<BatchPlay> parsedPlays = new ArrayList<>(plays.size());
+        Map<Integer, OutputBatchResultDto> rejected = new HashMap<>();
+        for (int i = 0 ; i < plays.size() ; i++) {
+            NewBatchPlayDto play = plays.get(i);
+            try {
+                int length = play.getLength() == null ? WORD_LENGTH : play.getLength();
+                PlayConstraints constraints = PlayConstraints.parse(play.getGrey(), play.getYellow(), play.getGreen(), length);
+                Language language = validateLanguage(play.getLanguage());
+                //fails here rather than in the executor if there is no list for the length
+                helperService.getIndex(language, length);
+                parsedPlays.add(new BatchPlay(constraints, language));
+            } catch (RuntimeException e) {
+                parsedPlays.add(null);
+                rejected.put(i, new OutputBatchResultDto(statusOf(e).value(), e.getMessage()));
+            }
+        }
+
+        List<BatchResult> results = helperBatchService.getCandidates(parsedPlays);
+        List<OutputBatchResultDto> output = new ArrayList<>(plays.size());
+        for (int i = 0 ; i < plays.size() ; i++) {
+            BatchResult result = results.get(i);
+            if (result == null) output.add(rejected.get(i));
+            else if (result.getFailure() != null) output.add(new OutputBatchResultDto(statusOf(result.getFailure()).value(), result.getFailure().getMessage()));
+            else output.add(new OutputBatchResultDto(result.getCandidates(), plays.get(i).isWithWords()));
+        }
+        return output;
     }
 
-    private void validateYellowPlay(String play) {
-        if (play == null || play.isEmpty())
-            return;
-        if (!play.matches("([0-9][a-zA-Z])*"))
-            throw new InvalidPlayException("Yellow parameters must contain only pairs of indexes and letters");
+    /**
+     * Ranks the words that could be played next by the information they are expected to reveal about
+     * the winning word, measured as the entropy in bits of the colours they would produce over the
+     * words that are still possible.
+     *
+     * @param lan Language the game was played in.
+     * @param greyLettersPlayed Same as in {@link #getPossibleWords}
+     * @param yellowLettersPlayed Same as in {@link #getPossibleWords}
+     * @param greenLettersPlayed Same as in {@link #getPossibleWords}
+     * @param length Same as in {@link #getPossibleWords}. Suggestions are only available for words of up to 5 letters.
+     * @param limit Maximum number of suggestions returned, up to {@value #MAX_SUGGESTIONS}
+     * @param budgetMillis Time in milliseconds after which no more guesses are evaluated, up to {@value #MAX_BUDGET_MILLIS}.
+     *                     If it runs out, the best guesses among the ones evaluated are returned. If the words
+     *                     are still being prepared when it runs out (i.e.: right after a reload), answers 503.
+     * @return The best guesses with their scores, from best to worst
+     */
+    @GetMapping("/suggestions")
+    public OutputSuggestionsDto getSuggestions(@RequestParam(value = "language") String lan, @RequestParam(value = "grey") String greyLettersPlayed,
+                                               @RequestParam(value = "yellow") String yellowLettersPlayed,
+                                               @RequestParam(value = "green") String greenLettersPlayed,
+                                               @RequestParam(value = "length", defaultValue = "5") int length,
+                                               @RequestParam(value = "limit", defaultValue = "10") int limit,
+                                               @RequestParam(value = "budget", defaultValue = "1000") long budgetMillis) {
+
+        PlayConstraints attemptedPlay = PlayConstraints.parse(greyLettersPlayed, yellowLettersPlayed, greenLettersPlayed, length);
+        Language language = validateLanguage(lan);
+
+        if (limit < 1 || limit > MAX_SUGGESTIONS)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_SUGGESTIONS);
+        if (budgetMillis < 1 || budgetMillis > MAX_BUDGET_MILLIS)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "budget must be between 1 and " + MAX_BUDGET_MILLIS + " milliseconds");
+
+        GuessRanking ranking = suggestionService.getSuggestions(attemptedPlay, language, limit, Duration.ofMillis(budgetMillis));
+        return new OutputSuggestionsDto(ranking);
     }
 
-    private Language validateLanguage(String language){
-        try {
-            return Language.valueOf(language.toUpperCase());
-        }catch (IllegalArgumentException e){
-            throw new NotFoundException("Language not found");
-        }catch (NullPointerException e){
-            throw new NullParametersException("Language parameter must be not null");
-        }
+    /**
+     * Starts a game to be solved round by round, in which every word of the language is a possible answer.
+     *
+     * @param lan Language the game is played in.
+     * @param length Length of the words of the game, 5 by default
+     * @return The new game, without the list of possible words
+     */
+    @PostMapping("/games")
+    @ResponseStatus(HttpStatus.CREATED)
+    public OutputGameDto createGame(@RequestParam(value = "language") String lan,
+                                    @RequestParam(value = "length", defaultValue = "5") int length) {
+        return new OutputGameDto(gameService.create(validateLanguage(lan), length), false);
+    }
+
+    @GetMapping("/games/{id}")
+    public OutputGameDto getGame(@PathVariable(value = "id") String id) {
+        return new OutputGameDto(gameService.findById(id), true);
     }
+
+    /**
+     * Narrows the possible answers of a game with the colours a guess resulted in. Unlike the grey, yellow
+     * and green parameters of {@link #getPossibleWords}, each round keeps the position of grey letters and
+     * how many times a letter was played, so repeated letters are taken into account.
+     *
+     * @param id Id of the game
+     * @param round Guessed word and its colours: 'G' for green, 'Y' for yellow and 'W' for grey (i.e.: "WYWWG")
+     * @return The game with the words that are still possible
+     */
+    @PostMapping(value = "/games/{id}/rounds", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public OutputGameDto playRound(@PathVariable(value = "id") String id, @Valid @RequestBody NewRoundDto round) {
+        return new OutputGameDto(gameService.playRound(id, round.getGuess(), round.getColours()), true);
+    }
+
+    @DeleteMapping("/games/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteGame(@PathVariable(value = "id") String id) {
+        gameService.delete(id);
+    }
+
+    private static HttpStatus statusOf(RuntimeException e){
+        if (e instanceof ResponseStatusException) return ((ResponseStatusException) e).getStatus();
+        ResponseStatus status = AnnotatedElementUtils.findMergedAnnotation(e.getClass(), ResponseStatus.class);
+        if (status == null) throw e;
+        return status.code();
+    }
+
+    private void validatePage(Integer limit, int cursor){
+        if (limit != null && (limit < 1 || limit > MAX_PAGE_SIZE))
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_PAGE_SIZE);
+        if (cursor < 0)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "cursor must not be negative");
+    }
+
 }
\ No newline at end of file
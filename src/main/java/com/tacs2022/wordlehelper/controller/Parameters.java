@@ -0,0 +1,24 @@
+package com.tacs2022.wordlehelper.controller;
+
+import com.tacs2022.wordlehelper.domain.Language;
+import com.tacs2022.wordlehelper.exceptions.NotFoundException;
+import com.tacs2022.wordlehelper.exceptions.NullParametersException;
+
+/**
+ * Validations of the request parameters shared by the controllers.
+ */
+final class Parameters {
+
+    private Parameters() {
+    }
+
+    static Language validateLanguage(String language){
+        try {
+            return Language.valueOf(language.toUpperCase());
+        }catch (IllegalArgumentException e){
+            throw new NotFoundException("Language not found");
+        }catch (NullPointerException e){
+            throw new NullParametersException("Language parameter must be not null");
+        }
+    }
+}
@@ -13,7 +13,6 @@ import com.pengrad.telegrambot.response.BaseResponse;
 import com.tacs2022.wordlehelper.domain.Language;
 import com.tacs2022.wordlehelper.domain.dictionary.Word;
 import com.tacs2022.wordlehelper.domain.play.TempHelperInfo;
-import com.tacs2022.wordlehelper.domain.play.WordPlay;
 import com.tacs2022.wordlehelper.domain.tournaments.Tournament;
 import com.tacs2022.wordlehelper.domain.tournaments.TournamentStatus;
 import com.tacs2022.wordlehelper.domain.tournaments.Visibility;
@@ -21,7 +20,7 @@ import com.tacs2022.wordlehelper.domain.user.Result;
 import com.tacs2022.wordlehelper.domain.user.User;
 import com.tacs2022.wordlehelper.dtos.tournaments.NewTournamentDto;
 import com.tacs2022.wordlehelper.exceptions.ExistingUserException;
-import com.tacs2022.wordlehelper.exceptions.LetterMismatchException;
+import com.tacs2022.wordlehelper.exceptions.InvalidPlayException;
 import com.tacs2022.wordlehelper.exceptions.NotFoundException;
 import com.tacs2022.wordlehelper.service.*;
 import com.tacs2022.wordlehelper.utils.LanguageUtils;
@@ -50,7 +49,7 @@ public class TelegramController {
     @Autowired
     private DictionaryService dictionaryService;
     @Autowired
-    private HelperService helperService;
+    private GameService gameService;
 
     private Map<String, String> usernameByChatId = new HashMap<>();
     private Map<String, String> lastMessageSentByChatId = new HashMap<>();
@@ -323,6 +322,7 @@ public class TelegramController {
     private void handleLanguageHelper(String chatId, Language language){
         TempHelperInfo tempHelperInfo = new TempHelperInfo();
         tempHelperInfo.setLanguage(language);
+        tempHelperInfo.setGameId(this.gameService.create(language).getId());
         this.tempHelperInfoByChatId.put(chatId, tempHelperInfo);
 
         InlineKeyboardButton cancelButton = new InlineKeyboardButton("Cancel").callbackData("start");
@@ -984,28 +984,28 @@ public class TelegramController {
         TempHelperInfo tempHelperInfo = this.tempHelperInfoByChatId.get(chatId);
         List<String> colourByCharacterForLastWord = this.colourByCharacterForLastWordByChatId.get(chatId);
 
-        for(int i = 0; i < colourByCharacterForLastWord.size(); i++){
-            String colourByCharacter = colourByCharacterForLastWord.get(i);
+        if(tempHelperInfo == null || colourByCharacterForLastWord == null){
+            this.handleExpiredHelper(chatId);
+            return null;
+        }
+
+        StringBuilder guess = new StringBuilder();
+        StringBuilder colours = new StringBuilder();
+
+        for (String colourByCharacter : colourByCharacterForLastWord) {
             String[] characterAndColour = Strings.split(colourByCharacter, "-");
-            char colour = characterAndColour[1].charAt(0);
-            char letter = characterAndColour[0].charAt(0);
+            guess.append(characterAndColour[0].charAt(0));
+            colours.append(characterAndColour[1].charAt(0));
+        }
 
-            switch(colour){
-                case whiteCharacter:
-                    tempHelperInfo.addGreyLetterPlayed(letter);
-                    break;
-                case yellowCharacter:
-                    tempHelperInfo.addYellowLetterPlayed(i, letter);
-                    break;
-                case greenCharacter:
-                    try {
-                        tempHelperInfo.addGreenLetterPlayed(i, letter);
-                    }catch(LetterMismatchException e){
-                        this.sendSimpleMessageAndExecute(chatId, e.getMessage());
-                        return null;
-                    }
-                    break;
-            }
+        try {
+            this.gameService.playRound(tempHelperInfo.getGameId(), guess.toString(), colours.toString());
+        } catch (NotFoundException e) {
+            this.handleExpiredHelper(chatId);
+            return null;
+        } catch (InvalidPlayException e) {
+            this.sendSimpleMessageAndExecute(chatId, e.getMessage());
+            return null;
         }
 
         return tempHelperInfo;
@@ -1018,15 +1018,31 @@ public class TelegramController {
             return;
         }
 
-        WordPlay attemptedPlay = new WordPlay(tempHelperInfo.getGrayLettersPlayed(), tempHelperInfo.getYellowLettersPlayed(),
-                tempHelperInfo.getGreenLettersPlayed());
-        List<String> possibleWords = this.helperService.getWordsByPlay(attemptedPlay, tempHelperInfo.getLanguage());
+        List<String> possibleWords;
+        try {
+            possibleWords = this.gameService.findById(tempHelperInfo.getGameId()).getPossibleWords();
+        } catch (NotFoundException e) {
+            this.handleExpiredHelper(chatId);
+            return;
+        }
+        this.gameService.delete(tempHelperInfo.getGameId());
+        this.cleanHelperMaps(chatId);
         String message = "Possible words are:\n" + String.join("\n", possibleWords);
 
         this.sendSimpleMessageAndExecute(chatId, message);
         this.sendKeyboard(chatId);
     }
 
+    /**
+     * Games are kept for a while after their last word, so the one of the chat may be gone.
+     */
+    private void handleExpiredHelper(String chatId){
+        this.cleanHelperMaps(chatId);
+        this.lastMessageSentByChatId.remove(chatId);
+        this.sendSimpleMessageAndExecute(chatId, "Your game expired. Start a new one to get help.");
+        this.handleHelper(chatId);
+    }
+
     // End handle message methods
 
     private void sendSimpleMessageAndExecute(String chatId, String message){
@@ -1048,6 +1064,11 @@ public class TelegramController {
         this.lastMessageSentByChatId.remove(chatId);
     }
 
+    private void cleanHelperMaps(String chatId){
+        this.tempHelperInfoByChatId.remove(chatId);
+        this.helperWordsSentByChatId.remove(chatId);
+    }
+
     private void sendKeyboard(String chatId){
         this.lastMessageSentByChatId.remove(chatId);
 
@@ -0,0 +1,24 @@
+package com.tacs2022.wordlehelper.domain.play;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Minimum and maximum number of times a letter can appear in the winning word.
+ */
+@Data
+@AllArgsConstructor
+public class LetterCount {
+    public static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    private Character letter;
+    private int min;
+    private int max;
+
+    /**
+     * Combines the counts known from two plays of the same letter, keeping the tightest bounds.
+     */
+    public LetterCount merge(LetterCount other) {
+        return new LetterCount(letter, Math.max(min, other.min), Math.min(max, other.max));
+    }
+}
@@ -1,25 +1,35 @@
 package com.tacs2022.wordlehelper.domain.play;
 
+import com.tacs2022.wordlehelper.exceptions.InvalidPlayException;
 import lombok.Data;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Data
 public class WordPlay {
-    private static final Character BLANK_INDICATOR = '_';
+    private static final char BLANK_INDICATOR = '_';
+    private static final char GRAY_INDICATOR = 'w';
+    private static final char YELLOW_INDICATOR = 'y';
+    private static final char GREEN_INDICATOR = 'g';
 
     private List<LetterPlay> letters;
+    private Map<Character, LetterCount> letterCounts;
 
     public WordPlay(String grayLettersPlayed, String yellowLettersPlayed, String greenLettersPlayed){
         letters = new ArrayList<>();
+        letterCounts = new LinkedHashMap<>();
         //process grey letters
         readGrayLettersFromString(grayLettersPlayed);
         //process yellow letters
         readYellowLettersFromString(yellowLettersPlayed);
         //process green letters
         readGreenLettersFromString(greenLettersPlayed);
+        //bound how many times each letter can appear
+        countLettersPlayed();
 
         //TODO: throw exception if empty?
     }
@@ -27,31 +37,100 @@ public class WordPlay {
     private void readGrayLettersFromString(String string){
         if (string == null) return;
 
-        for (int i = 0 ; i < string.length() ; i++){
-            Character c = string.toLowerCase().charAt(i);
-            letters.add(new LetterPlay(c, -1, LetterColor.GRAY));
+        String lowerCase = string.toLowerCase();
+        for (int i = 0 ; i < lowerCase.length() ; i++){
+            letters.add(new LetterPlay(lowerCase.charAt(i), -1, LetterColor.GRAY));
         }
     }
 
     private void readYellowLettersFromString(String string){
         if (string == null) return;
 
-        for (int i = 0 ; i < string.length() ; i+=2){
-            Character index = string.toLowerCase().charAt(i);
-            Character c = string.toLowerCase().charAt(i+1);
-            letters.add(new LetterPlay(c, Integer.valueOf(index.toString()), LetterColor.YELLOW));
+        String lowerCase = string.toLowerCase();
+        for (int i = 0 ; i < lowerCase.length() ; i+=2){
+            int index = Character.digit(lowerCase.charAt(i), 10);
+            if (index < 0) throw new InvalidPlayException("Yellow parameters must contain only pairs of indexes and letters");
+            letters.add(new LetterPlay(lowerCase.charAt(i+1), index, LetterColor.YELLOW));
         }
     }
 
     private void readGreenLettersFromString(String string){
         if (string == null) return;
 
-        for (int i = 0 ; i < string.length() ; i++){
-            Character c = string.toLowerCase().charAt(i);
-            if (!c.equals(BLANK_INDICATOR)) letters.add(new LetterPlay(c, i, LetterColor.GREEN));
+        String lowerCase = string.toLowerCase();
+        for (int i = 0 ; i < lowerCase.length() ; i++){
+            char c = lowerCase.charAt(i);
+            if (c != BLANK_INDICATOR) letters.add(new LetterPlay(c, i, LetterColor.GREEN));
         }
     }
 
+    /**
+     * Bounds the count of each letter from the flattened letters. Since yellow letters of different
+     * guesses may be the same occurrence of the letter, a letter that is yellow or green appears at least
+     * as many times as it is green, and at least once. When the letter is also grey, the guess it was grey
+     * in had every occurrence of the answer colored, so it appears at most once per different position it
+     * was colored yellow or green in.
+     */
+    private void countLettersPlayed(){
+        Map<Character, List<LetterPlay>> lettersByCharacter = letters.stream()
+                .collect(Collectors.groupingBy(LetterPlay::getLetter, LinkedHashMap::new, Collectors.toList()));
+
+        lettersByCharacter.forEach((letter, plays) -> {
+            long greens = plays.stream().filter(l -> l.getColor() == LetterColor.GREEN).map(LetterPlay::getPosition).distinct().count();
+            boolean yellow = plays.stream().anyMatch(l -> l.getColor() == LetterColor.YELLOW);
+            boolean gray = plays.stream().anyMatch(l -> l.getColor() == LetterColor.GRAY);
+            long coloredPositions = plays.stream().filter(l -> l.getColor() != LetterColor.GRAY).map(LetterPlay::getPosition).distinct().count();
+
+            int min = (int) Math.max(greens, yellow ? 1 : 0);
+            int max = gray ? (int) coloredPositions : LetterCount.UNBOUNDED;
+            letterCounts.put(letter, new LetterCount(letter, min, max));
+        });
+    }
+
+    /**
+     * Adds a guess and the colours it resulted in. Unlike the flattened letters, a round keeps the position
+     * of grey letters and how many times each letter was played, so the count of every letter in the
+     * answer is known exactly or from below.
+     *
+     * @param guess Guessed word
+     * @param colours Colours of each letter of the guess: 'G' for green, 'Y' for yellow and 'W' for grey (i.e.: "WYWWG")
+     * @return This play, to chain rounds
+     */
+    public WordPlay addRound(String guess, String colours){
+        if (guess.length() != colours.length())
+            throw new InvalidPlayException("Guess and colours must have the same length");
+
+        Map<Character, Integer> colored = new LinkedHashMap<>();
+        Map<Character, Boolean> grayed = new LinkedHashMap<>();
+
+        for (int i = 0 ; i < guess.length() ; i++){
+            char letter = Character.toLowerCase(guess.charAt(i));
+            switch (Character.toLowerCase(colours.charAt(i))){
+                case GRAY_INDICATOR:
+                    letters.add(new LetterPlay(letter, i, LetterColor.GRAY));
+                    grayed.put(letter, true);
+                    colored.putIfAbsent(letter, 0);
+                    break;
+                case YELLOW_INDICATOR:
+                    letters.add(new LetterPlay(letter, i, LetterColor.YELLOW));
+                    colored.merge(letter, 1, Integer::sum);
+                    break;
+                case GREEN_INDICATOR:
+                    letters.add(new LetterPlay(letter, i, LetterColor.GREEN));
+                    colored.merge(letter, 1, Integer::sum);
+                    break;
+                default:
+                    throw new InvalidPlayException("Colours must contain only 'G', 'Y' or 'W' characters");
+            }
+        }
+
+        colored.forEach((letter, count) -> {
+            LetterCount roundCount = new LetterCount(letter, count, grayed.containsKey(letter) ? count : LetterCount.UNBOUNDED);
+            letterCounts.merge(letter, roundCount, LetterCount::merge);
+        });
+        return this;
+    }
+
     public List<LetterPlay> getLettersByColor(LetterColor color){
         return letters.stream().filter(l -> l.getColor().equals(color)).collect(Collectors.toList());
     }
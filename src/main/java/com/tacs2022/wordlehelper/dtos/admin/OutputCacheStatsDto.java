@@ -0,0 +1,53 @@
+package com.tacs2022.wordlehelper.dtos.admin;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.tacs2022.wordlehelper.service.dictionaryapis.DictionaryCache;
+import com.tacs2022.wordlehelper.service.helper.HelperResultCache;
+import lombok.Data;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OutputCacheStatsDto {
+    private String name;
+    private long hits;
+    private long misses;
+    private double hitRate;
+    private long evictions;
+    private long loads;
+    private long loadFailures;
+    private double averageLoadMillis;
+    private long entries;
+    private Long maxEntries;
+    private Long weightedBytes;
+    private Long maxBytes;
+    private Long ttlSeconds;
+    private Long refreshAfterSeconds;
+    private Long missTtlSeconds;
+
+    public OutputCacheStatsDto(String name, HelperResultCache cache) {
+        this(name, cache.getStats(), cache.getEntries());
+        this.weightedBytes = cache.getWeightedBytes();
+        this.maxBytes = cache.getMaxBytes();
+    }
+
+    public OutputCacheStatsDto(String name, DictionaryCache cache) {
+        this(name, cache.getStats(), cache.getEntries());
+        this.maxEntries = cache.getMaxSize();
+        this.ttlSeconds = cache.getTtl().getSeconds();
+        this.refreshAfterSeconds = cache.getRefreshAfter().getSeconds();
+        this.missTtlSeconds = cache.getMissTtl().getSeconds();
+    }
+
+    private OutputCacheStatsDto(String name, CacheStats stats, long entries) {
+        this.name = name;
+        this.hits = stats.hitCount();
+        this.misses = stats.missCount();
+        this.hitRate = stats.hitRate();
+        this.evictions = stats.evictionCount();
+        this.loads = stats.loadCount();
+        this.loadFailures = stats.loadFailureCount();
+        this.averageLoadMillis = stats.averageLoadPenalty() / 1_000_000;
+        this.entries = entries;
+    }
+}
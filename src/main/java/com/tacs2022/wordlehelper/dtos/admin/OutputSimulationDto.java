@@ -0,0 +1,34 @@
+package com.tacs2022.wordlehelper.dtos.admin;
+
+import com.tacs2022.wordlehelper.domain.Language;
+import com.tacs2022.wordlehelper.service.helper.SimulationResult;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class OutputSimulationDto {
+    private Language language;
+    private int wordLength;
+    private boolean hardMode;
+    private int answers;
+    private String firstGuess;
+    private double averageGuesses;
+    private int maxGuesses;
+    private int[] distribution;
+    private List<String> unsolved;
+    private long wallTimeMillis;
+
+    public OutputSimulationDto(SimulationResult result) {
+        this.language = result.getLanguage();
+        this.wordLength = result.getWordLength();
+        this.hardMode = result.isHardMode();
+        this.answers = result.getAnswers();
+        this.firstGuess = result.getFirstGuess();
+        this.averageGuesses = result.getAverageGuesses();
+        this.maxGuesses = result.getMaxGuesses();
+        this.distribution = result.getDistribution();
+        this.unsolved = result.getUnsolved();
+        this.wallTimeMillis = result.getWallTime().toMillis();
+    }
+}
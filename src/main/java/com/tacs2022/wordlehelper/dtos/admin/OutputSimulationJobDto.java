@@ -0,0 +1,28 @@
+package com.tacs2022.wordlehelper.dtos.admin;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.tacs2022.wordlehelper.domain.Language;
+import com.tacs2022.wordlehelper.service.helper.SimulationJob;
+import lombok.Data;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OutputSimulationJobDto {
+    private String id;
+    private SimulationJob.Status status;
+    private Language language;
+    private int wordLength;
+    private boolean hardMode;
+    private OutputSimulationDto result;
+    private String error;
+
+    public OutputSimulationJobDto(SimulationJob job) {
+        this.id = job.getId();
+        this.status = job.getStatus();
+        this.language = job.getLanguage();
+        this.wordLength = job.getWordLength();
+        this.hardMode = job.isHardMode();
+        this.result = job.getResult() == null ? null : new OutputSimulationDto(job.getResult());
+        this.error = job.getError();
+    }
+}
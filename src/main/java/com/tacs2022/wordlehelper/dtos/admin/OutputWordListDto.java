@@ -0,0 +1,20 @@
+package com.tacs2022.wordlehelper.dtos.admin;
+
+import com.tacs2022.wordlehelper.domain.Language;
+import com.tacs2022.wordlehelper.service.helper.WordCorpus;
+import lombok.Data;
+
+@Data
+public class OutputWordListDto {
+    private Language language;
+    private int wordLength;
+    private int words;
+    private String checksum;
+
+    public OutputWordListDto(WordCorpus corpus) {
+        this.language = corpus.getLanguage();
+        this.wordLength = corpus.getWordLength();
+        this.words = corpus.size();
+        this.checksum = Long.toHexString(corpus.getChecksum());
+    }
+}
@@ -0,0 +1,17 @@
+package com.tacs2022.wordlehelper.dtos.helper;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NewBatchPlayDto {
+    private String language;
+    private String grey;
+    private String yellow;
+    private String green;
+    private Integer length;
+    private boolean withWords;
+}
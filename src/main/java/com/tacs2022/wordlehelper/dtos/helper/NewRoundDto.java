@@ -0,0 +1,17 @@
+package com.tacs2022.wordlehelper.dtos.helper;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotBlank;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NewRoundDto {
+    @NotBlank(message = "guess is mandatory")
+    private String guess;
+    @NotBlank(message = "colours are mandatory")
+    private String colours;
+}
@@ -0,0 +1,27 @@
+package com.tacs2022.wordlehelper.dtos.helper;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.tacs2022.wordlehelper.service.helper.CandidateSet;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OutputBatchResultDto {
+    private int status;
+    private Integer totalWords;
+    private List<String> possibleWords;
+    private String error;
+
+    public OutputBatchResultDto(CandidateSet candidates, boolean withWords) {
+        this.status = 200;
+        this.totalWords = candidates.count();
+        if (withWords) this.possibleWords = candidates.words();
+    }
+
+    public OutputBatchResultDto(int status, String error) {
+        this.status = status;
+        this.error = error;
+    }
+}
@@ -0,0 +1,24 @@
+package com.tacs2022.wordlehelper.dtos.helper;
+
+import com.tacs2022.wordlehelper.domain.Language;
+import com.tacs2022.wordlehelper.service.helper.GameSession;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class OutputGameDto {
+    private String id;
+    private Language language;
+    private int rounds;
+    private int remainingWords;
+    private List<String> possibleWords;
+
+    public OutputGameDto(GameSession session, boolean withPossibleWords) {
+        this.id = session.getId();
+        this.language = session.getIndex().getCorpus().getLanguage();
+        this.rounds = session.getRounds();
+        this.remainingWords = session.getRemainingWords();
+        if (withPossibleWords) this.possibleWords = session.getPossibleWords();
+    }
+}
@@ -0,0 +1,34 @@
+package com.tacs2022.wordlehelper.dtos.helper;
+
+import com.tacs2022.wordlehelper.service.helper.Alphabet;
+import com.tacs2022.wordlehelper.service.helper.LetterHistogram;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class OutputLetterHistogramDto {
+    private int totalWords;
+    private Map<Character, Integer> letters;
+    private List<Map<Character, Integer>> positions;
+
+    public OutputLetterHistogramDto(LetterHistogram histogram) {
+        this.totalWords = histogram.getTotalWords();
+        this.letters = new LinkedHashMap<>();
+        this.positions = new ArrayList<>(histogram.getWordLength());
+        for (int position = 0 ; position < histogram.getWordLength() ; position++) positions.add(new LinkedHashMap<>());
+
+        //only letters that are in some of the words are listed
+        for (int code = 0 ; code < Alphabet.SIZE ; code++) {
+            if (histogram.containing(code) == 0) continue;
+            letters.put(Alphabet.letterOf(code), histogram.containing(code));
+            for (int position = 0 ; position < histogram.getWordLength() ; position++) {
+                int count = histogram.inPosition(position, code);
+                if (count > 0) positions.get(position).put(Alphabet.letterOf(code), count);
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.tacs2022.wordlehelper.dtos.helper;
+
+import com.tacs2022.wordlehelper.service.helper.GuessRanking;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class OutputSuggestionsDto {
+    private List<SuggestionDto> suggestions;
+    private int remainingWords;
+    private int evaluatedGuesses;
+    private int totalGuesses;
+
+    public OutputSuggestionsDto(GuessRanking ranking) {
+        this.suggestions = SuggestionDto.list(ranking.getGuesses());
+        this.remainingWords = ranking.getRemainingWords();
+        this.evaluatedGuesses = ranking.getEvaluatedGuesses();
+        this.totalGuesses = ranking.getTotalGuesses();
+    }
+}
@@ -0,0 +1,19 @@
+package com.tacs2022.wordlehelper.dtos.helper;
+
+import com.tacs2022.wordlehelper.service.helper.WordPage;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class OutputWordsPageDto {
+    private List<String> possibleWords;
+    private Integer nextCursor;
+    private int totalWords;
+
+    public OutputWordsPageDto(WordPage page) {
+        this.possibleWords = page.getWords();
+        this.nextCursor = page.getNextCursor();
+        this.totalWords = page.getTotalWords();
+    }
+}
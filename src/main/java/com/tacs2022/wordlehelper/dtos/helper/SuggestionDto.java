@@ -0,0 +1,24 @@
+package com.tacs2022.wordlehelper.dtos.helper;
+
+import com.tacs2022.wordlehelper.service.helper.RankedGuess;
+import lombok.Data;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Data
+public class SuggestionDto {
+    private String word;
+    private double score;
+    private boolean possibleAnswer;
+
+    public SuggestionDto(RankedGuess guess) {
+        this.word = guess.getWord();
+        this.score = guess.getScore();
+        this.possibleAnswer = guess.isPossibleAnswer();
+    }
+
+    public static List<SuggestionDto> list(List<RankedGuess> guesses){
+        return guesses.stream().map(SuggestionDto::new).collect(Collectors.toList());
+    }
+}
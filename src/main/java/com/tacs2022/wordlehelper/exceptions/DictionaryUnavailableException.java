@@ -0,0 +1,17 @@
+package com.tacs2022.wordlehelper.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_GATEWAY)
+@ResponseBody
+public class DictionaryUnavailableException extends RuntimeException {
+    public DictionaryUnavailableException(String message) {
+        super(message);
+    }
+
+    public DictionaryUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
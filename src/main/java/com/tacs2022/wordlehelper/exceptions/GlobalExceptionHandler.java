@@ -6,10 +6,12 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -33,4 +35,14 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
         return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
     }
-}
\ No newline at end of file
+
+    @ExceptionHandler(InvalidPlayParameterException.class)
+    protected ResponseEntity<Object> handleInvalidPlayParameter(InvalidPlayParameterException ex) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("errors", List.of(ex.getMessage()));
+        body.put("parameter", ex.getParameter());
+        if (ex.getPosition() != null) body.put("position", ex.getPosition());
+
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+}
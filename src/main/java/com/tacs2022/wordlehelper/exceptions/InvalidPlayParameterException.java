@@ -0,0 +1,30 @@
+package com.tacs2022.wordlehelper.exceptions;
+
+/**
+ * A parameter of a play that is not written as expected, along with where the problem was found so
+ * clients can point at it.
+ */
+public class InvalidPlayParameterException extends InvalidPlayException {
+    private final String parameter;
+    private final Integer position;
+
+    /**
+     * @param parameter Name of the request parameter (i.e.: "green")
+     * @param position Index of the first invalid character of the parameter, or null if the problem is
+     *                 the parameter as a whole (i.e.: its length)
+     * @param message Description of the problem
+     */
+    public InvalidPlayParameterException(String parameter, Integer position, String message) {
+        super(message);
+        this.parameter = parameter;
+        this.position = position;
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+
+    public Integer getPosition() {
+        return position;
+    }
+}
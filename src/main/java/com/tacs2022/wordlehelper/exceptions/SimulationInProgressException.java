@@ -0,0 +1,11 @@
+package com.tacs2022.wordlehelper.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class SimulationInProgressException extends RuntimeException {
+    public SimulationInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.tacs2022.wordlehelper.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class SuggestionsUnavailableException extends RuntimeException {
+    public SuggestionsUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -1,14 +1,47 @@
 package com.tacs2022.wordlehelper.security;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfiguration implements WebMvcConfigurer {
 
+    private final int asyncThreads;
+    private final int asyncQueueCapacity;
+
+    public WebConfiguration(@Value("${web.async.threads:16}") int asyncThreads,
+                            @Value("${web.async.queue-capacity:256}") int asyncQueueCapacity) {
+        this.asyncThreads = asyncThreads;
+        this.asyncQueueCapacity = asyncQueueCapacity;
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**").allowedMethods("*");
     }
+
+    /**
+     * Pool the asynchronous responses (i.e.: streamed words) are written on. Spring Boot only provides one
+     * when the application declares no executor of its own, which the helper and the dictionary do, and
+     * would otherwise start a new thread per response.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor mvcAsyncExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(asyncThreads);
+        executor.setMaxPoolSize(asyncThreads);
+        executor.setQueueCapacity(asyncQueueCapacity);
+        executor.setThreadNamePrefix("mvc-async-");
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcAsyncExecutor());
+    }
 }
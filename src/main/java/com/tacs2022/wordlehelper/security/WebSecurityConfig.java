@@ -18,6 +18,8 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @EnableGlobalMethodSecurity(prePostEnabled = true)
 public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
 
+    public static final String ADMIN_ROLE = "ADMIN";
+
     @Bean
     public BCryptPasswordEncoder encoder() {
         return new BCryptPasswordEncoder();
@@ -39,6 +41,8 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
                 .antMatchers(SWAGGER_PATHS).permitAll()
                 .antMatchers("/v1/sessions").permitAll()
                 .antMatchers("/v1/users").permitAll()
+                //reloads and simulations take a lot of CPU and disk, only admins may start them
+                .antMatchers("/v1/admin/**").hasRole(ADMIN_ROLE)
                 .antMatchers("/**").authenticated().and()
                 .addFilterAfter(jwtAuthorizationFilterBean(), UsernamePasswordAuthenticationFilter.class)
                 .exceptionHandling().authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED));
@@ -9,12 +9,15 @@ import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static com.tacs2022.wordlehelper.security.WebSecurityConfig.ADMIN_ROLE;
 import static com.tacs2022.wordlehelper.utils.Constants.*;
 
 public class TokenProvider {
-    public static String generateToken(User usuario) {
+    public static String generateToken(User usuario, boolean admin) {
         // Generates token with roles, issuer, date, expiration (8h)
-        List<GrantedAuthority> grantedAuthorities = AuthorityUtils.createAuthorityList("ROLE_USER");
+        List<GrantedAuthority> grantedAuthorities = admin
+                ? AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_" + ADMIN_ROLE)
+                : AuthorityUtils.createAuthorityList("ROLE_USER");
 
         return Jwts.builder()
                 .setSubject(usuario.getUsername())
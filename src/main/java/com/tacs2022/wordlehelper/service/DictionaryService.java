@@ -3,18 +3,43 @@ package com.tacs2022.wordlehelper.service;
 import com.tacs2022.wordlehelper.domain.Language;
 import com.tacs2022.wordlehelper.domain.dictionary.Word;
 import com.tacs2022.wordlehelper.service.dictionaryapis.DictionaryAPI;
+import com.tacs2022.wordlehelper.service.dictionaryapis.DictionaryCache;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 @Service
 public class DictionaryService {
 
+    private final DictionaryCache cache;
+
     @Autowired
-    DictionaryAPI dictionaryAPI;
+    public DictionaryService(DictionaryAPI dictionaryAPI,
+                             @Value("${dictionary.cache.max-size:10000}") long maxSize,
+                             @Value("${dictionary.cache.ttl:24h}") Duration ttl,
+                             @Value("${dictionary.cache.refresh-after:12h}") Duration refreshAfter,
+                             @Value("${dictionary.cache.miss-ttl:10m}") Duration missTtl,
+                             @Qualifier("dictionaryExecutor") Executor dictionaryExecutor) {
+        this.cache = new DictionaryCache(dictionaryAPI, maxSize, ttl, refreshAfter, missTtl, dictionaryExecutor);
+    }
 
-    @Cacheable("dictionary-words")
     public Word findByNameAndLanguage(String name, Language language) {
-        return dictionaryAPI.getWordDefinition(name, language);
+        return cache.get(name, language);
+    }
+
+    /**
+     * Same as {@link #findByNameAndLanguage}, completed when the word is loaded instead of waiting for it.
+     */
+    public CompletableFuture<Word> findByNameAndLanguageAsync(String name, Language language) {
+        return cache.getAsync(name, language);
+    }
+
+    public DictionaryCache getCache() {
+        return cache;
     }
-}
\ No newline at end of file
+}
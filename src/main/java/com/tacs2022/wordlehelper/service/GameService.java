@@ -0,0 +1,79 @@
+package com.tacs2022.wordlehelper.service;
+
+import com.tacs2022.wordlehelper.domain.Language;
+import com.tacs2022.wordlehelper.exceptions.InvalidPlayException;
+import com.tacs2022.wordlehelper.exceptions.NotFoundException;
+import com.tacs2022.wordlehelper.service.helper.Alphabet;
+import com.tacs2022.wordlehelper.service.helper.Feedback;
+import com.tacs2022.wordlehelper.service.helper.GameSession;
+import com.tacs2022.wordlehelper.service.helper.GameSessionStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class GameService {
+
+    @Autowired
+    private HelperService helperService;
+    @Autowired
+    private GameSessionStore gameSessionStore;
+
+    /**
+     * Starts a game in which every word of the given language is still a possible answer.
+     *
+     * @param language Language the game is played in
+     * @return New game
+     */
+    public GameSession create(Language language) {
+        return create(language, HelperService.WORD_LENGTH);
+    }
+
+    /**
+     * Starts a game in which every word of the given language and length is still a possible answer.
+     *
+     * @param language Language the game is played in
+     * @param wordLength Length of the words of the game
+     * @return New game
+     */
+    public GameSession create(Language language, int wordLength) {
+        return gameSessionStore.create(helperService.getIndex(language, wordLength));
+    }
+
+    public GameSession findById(String id) {
+        GameSession session = gameSessionStore.get(id);
+        if (session == null) throw new NotFoundException("No game with id " + id + " was found");
+        return session;
+    }
+
+    /**
+     * Narrows the possible answers of a game with the colours a guess resulted in.
+     *
+     * @param id Id of the game
+     * @param guess Guessed word
+     * @param colours Colours of each letter of the guess: 'G' for green, 'Y' for yellow and 'W' for grey (i.e.: "WYWWG")
+     * @return The game, with the possible answers narrowed
+     */
+    public GameSession playRound(String id, String guess, String colours) {
+        GameSession session = findById(id);
+        int wordLength = session.getIndex().getCorpus().getWordLength();
+
+        if (guess.length() != wordLength || colours.length() != wordLength)
+            throw new InvalidPlayException("Guess and colours must be " + wordLength + " characters long");
+
+        int[] codes = new int[wordLength];
+        for (int i = 0 ; i < wordLength ; i++) {
+            codes[i] = Alphabet.codeOf(guess.charAt(i));
+            if (codes[i] == Alphabet.INVALID) throw new InvalidPlayException("Guess must contain only letters");
+        }
+
+        int pattern = Feedback.parse(colours);
+        if (pattern == Feedback.INVALID) throw new InvalidPlayException("Colours must contain only 'G', 'Y' or 'W' characters");
+
+        session.applyRound(codes, pattern);
+        return session;
+    }
+
+    public void delete(String id) {
+        gameSessionStore.remove(id);
+    }
+}
@@ -0,0 +1,90 @@
+package com.tacs2022.wordlehelper.service;
+
+import com.tacs2022.wordlehelper.service.helper.BatchPlay;
+import com.tacs2022.wordlehelper.service.helper.BatchResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+@Service
+public class HelperBatchService {
+
+    //below this, handing plays to the executor costs more than resolving them
+    private static final int MIN_PLAYS_PER_TASK = 8;
+
+    @Autowired
+    private HelperService helperService;
+
+    private final ExecutorService executor;
+    private final int parallelism;
+
+    /**
+     * @param executor Executor the chunks of a batch are resolved in
+     * @param threads Threads of the executor, a batch is split in at most as many chunks. 0 for the number of processors,
+     *                as in {@link com.tacs2022.wordlehelper.HelperConfig#helperBatchExecutor}
+     */
+    public HelperBatchService(@Qualifier("helperBatchExecutor") ExecutorService executor,
+                              @Value("${helper.batch.threads:0}") int threads) {
+        this.executor = executor;
+        this.parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Resolves many plays at once over the resident indexes. Plays are split in chunks that are resolved
+     * in parallel on the batch executor. A play that fails gets its failure as result, the rest of the
+     * batch is still resolved.
+     *
+     * @param plays Plays to resolve, null for the ones that were rejected and must be skipped
+     * @return Result of each play, in the same order, or null for skipped plays
+     */
+    public List<BatchResult> getCandidates(List<BatchPlay> plays) {
+        BatchResult[] results = new BatchResult[plays.size()];
+        int chunks = Math.max(1, Math.min(parallelism, plays.size() / MIN_PLAYS_PER_TASK));
+        int chunkSize = (plays.size() + chunks - 1) / chunks;
+
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(chunks);
+        for (int from = chunkSize ; from < plays.size() ; from += chunkSize) {
+            int start = from;
+            int end = Math.min(from + chunkSize, plays.size());
+            tasks.add(CompletableFuture.runAsync(() -> resolve(plays, start, end, results), executor));
+        }
+
+        boolean resolved = false;
+        try {
+            //the first chunk is resolved by the request thread instead of waiting idle
+            resolve(plays, 0, Math.min(chunkSize, plays.size()), results);
+            resolved = true;
+        } finally {
+            //chunks that didn't start yet are dropped rather than resolved for a request that already failed
+            if (!resolved) tasks.forEach(task -> task.cancel(false));
+        }
+
+        try {
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw e;
+        }
+        return Arrays.asList(results);
+    }
+
+    private void resolve(List<BatchPlay> plays, int from, int to, BatchResult[] results) {
+        for (int i = from ; i < to ; i++) {
+            BatchPlay play = plays.get(i);
+            if (play == null) continue;
+            try {
+                results[i] = BatchResult.of(helperService.getCandidates(play.getConstraints(), play.getLanguage()));
+            } catch (RuntimeException e) {
+                results[i] = BatchResult.failed(e);
+            }
+        }
+    }
+}
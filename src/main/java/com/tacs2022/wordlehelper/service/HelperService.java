@@ -1,30 +1,111 @@
 package com.tacs2022.wordlehelper.service;
 
 import com.tacs2022.wordlehelper.domain.Language;
-import com.tacs2022.wordlehelper.domain.play.LetterColor;
-import com.tacs2022.wordlehelper.domain.play.LetterPlay;
 import com.tacs2022.wordlehelper.domain.play.WordPlay;
+import com.tacs2022.wordlehelper.exceptions.NotFoundException;
+import com.tacs2022.wordlehelper.service.helper.CandidateSet;
+import com.tacs2022.wordlehelper.service.helper.HelperResultCache;
+import com.tacs2022.wordlehelper.service.helper.PlayConstraints;
+import com.tacs2022.wordlehelper.service.helper.WordIndex;
+import com.tacs2022.wordlehelper.service.helper.WordListSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import javax.annotation.PostConstruct;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Service
 public class HelperService {
 
+    /**
+     * Length of the words of the built-in lists, used when a request doesn't ask for another one.
+     */
     public static final int WORD_LENGTH = 5;
 
-    private static final Map<Language, String> LANGUAGE_WORDS_FILE_MAP = Map.of(
-            Language.EN, "src/main/resources/helper/5letter-english.list",
-            Language.ES, "src/main/resources/helper/5letter-spanish.list"
+    private static final List<WordListSource> BUILT_IN_WORD_LISTS = List.of(
+            new WordListSource(Language.EN, WORD_LENGTH, "helper/5letter-english.list"),
+            new WordListSource(Language.ES, WORD_LENGTH, "helper/5letter-spanish.list")
     );
 
+    private final List<WordListSource> wordLists;
+    private volatile Map<Language, Map<Integer, WordIndex>> indexes;
+    private final HelperResultCache resultCache;
+
+    public HelperService() {
+        this(HelperResultCache.DEFAULT_MAX_BYTES, "");
+    }
+
+    public HelperService(long cacheMaxBytes, String wordLists) {
+        this(cacheMaxBytes, wordLists, null);
+    }
+
+    /**
+     * @param cacheMaxBytes Maximum size of the cached results
+     * @param wordLists Lists to load besides the built-in ones, as described in {@link WordListSource#parse}.
+     *                  A list of the same language and length as a built-in one replaces it.
+     * @param helperPool Pool plays over large word lists are resolved in, or null to resolve every play in
+     *                   the request thread
+     */
+    @Autowired
+    public HelperService(@Value("${helper.cache.max-bytes:33554432}") long cacheMaxBytes,
+                         @Value("${helper.word-lists:}") String wordLists,
+                         @Qualifier("helperPool") ForkJoinPool helperPool) {
+        this.resultCache = new HelperResultCache(cacheMaxBytes, helperPool);
+        this.wordLists = new ArrayList<>(BUILT_IN_WORD_LISTS);
+        this.wordLists.addAll(WordListSource.parse(wordLists));
+    }
+
+    /**
+     * Loads the word lists when the application starts so the first request doesn't pay for it.
+     */
+    @PostConstruct
+    public void init() {
+        indexes();
+    }
+
+    /**
+     * Reads every word list again and replaces the resident indexes at once. Queries running while the
+     * lists are being read keep using the previous indexes, and if a list can't be read they stay in place.
+     * Cached results are kept: they are keyed by the index they were resolved against, so the ones of the
+     * previous indexes are just never hit again and get evicted.
+     *
+     * @return The new indexes
+     */
+    public synchronized List<WordIndex> reload() {
+        indexes = loadIndexes();
+        return getIndexes();
+    }
+
+    /**
+     * @return Current index of every word list, by language and length
+     */
+    public List<WordIndex> getIndexes() {
+        return indexes().values().stream()
+                .flatMap(byLength -> byLength.values().stream())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return Word lists read from the file system, which may change while the application runs
+     */
+    public List<Path> getWordListFiles() {
+        return wordLists.stream()
+                .map(WordListSource::getFile)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Generates a list of possible words for the given word play in the given language.
      *
@@ -33,83 +114,86 @@ public class HelperService {
      * @return Possible winning words
      */
     public List<String> getWordsByPlay(WordPlay wordPlay, Language language){
-
-        List<String> possibleOptions = new ArrayList<>();
-
-        try (Stream<String> stream = Files.lines(Paths.get(LANGUAGE_WORDS_FILE_MAP.get(language)))) {
-
-            String grayRegex = buildNoneOfRegularExpression(wordPlay.getLettersByColor(LetterColor.GRAY));
-            String greenRegex = buildAllInPositionRegularExpression(wordPlay.getLettersByColor(LetterColor.GREEN));
-
-            possibleOptions = stream
-                    .map(String::toLowerCase)
-                    .filter(line -> line.matches(grayRegex))
-                    .filter(line -> line.matches(greenRegex))
-                    .filter(line -> hasEveryOfNotInPosition(line, wordPlay.getLettersByColor(LetterColor.YELLOW)))
-                    .map(String::toUpperCase)
-                    .collect(Collectors.toList());
-
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-
-        return possibleOptions;
+        return getCandidates(wordPlay, language, WORD_LENGTH).words();
     }
 
-    //Regular Expressions doc
-    //https://www.javatpoint.com/java-regex#:~:text=The%20Java%20Regex%20or%20Regular,the%20Java%20Regex%20Tester%20Tool.
+    /**
+     * Resolves the possible winning words for the given word play without decoding them, so they can be
+     * counted, paged or streamed.
+     *
+     * @param wordPlay Attempted play
+     * @param language Language the game was played in
+     * @param wordLength Length of the words of the game
+     * @return Possible winning words
+     * @throws NotFoundException if there is no word list for the language and length
+     */
+    public CandidateSet getCandidates(WordPlay wordPlay, Language language, int wordLength){
+        return getCandidates(PlayConstraints.of(wordPlay, wordLength), language);
+    }
 
     /**
-     * Builds a regex string that represents words that contain all the given letters in their
-     * respective positions
+     * Same as {@link #getCandidates(WordPlay, Language, int)}, for a play that is already compiled
+     * (see {@link PlayConstraints#parse}).
      *
-     * @param lettersPlayed List of letters to build the regex from
-     * @return 'All In Position' regular expression
+     * @param constraints Attempted play, compiled for the length of the words of the game
+     * @param language Language the game was played in
+     * @return Possible winning words
+     * @throws NotFoundException if there is no word list for the language and length
      */
-    private String buildAllInPositionRegularExpression(List<LetterPlay> lettersPlayed){
-        StringBuilder regex = new StringBuilder();
-        for (int i = 0 ; i < WORD_LENGTH ; i++){
-            regex.append(getCharacterAtPositionIfExists(lettersPlayed, i));
-        }
-        return regex.toString();
+    public CandidateSet getCandidates(PlayConstraints constraints, Language language){
+        WordIndex index = getIndex(language, constraints.getWordLength());
+        return new CandidateSet(index, resultCache.candidates(index, constraints));
     }
 
-    private Character getCharacterAtPositionIfExists(List<LetterPlay> lettersPlayed, Integer p){
-        for (LetterPlay letterPlay : lettersPlayed){
-            if (letterPlay.getPosition().equals(p)) return letterPlay.getLetter();
-        }
-        return '.';//Any character for regular expressions
+    /**
+     * @param language Language of the words
+     * @return Current index of the words of the given language and the default length
+     */
+    public WordIndex getIndex(Language language){
+        return getIndex(language, WORD_LENGTH);
     }
 
     /**
-     * Builds a regex string that represents words that contain none of the given words in any position.
-     *
-     * @param lettersPlayed List of letters to build the regex from
-     * @return 'None Of' regular expression
+     * @param language Language of the words
+     * @param wordLength Length of the words
+     * @return Current index of the words of the given language and length
+     * @throws NotFoundException if there is no word list for the language and length
      */
-    private String buildNoneOfRegularExpression(List<LetterPlay> lettersPlayed){
-        //string of all characters together
-        String letters = lettersPlayed.stream().map(l -> l.getLetter().toString()).reduce((acc, e) -> acc  + e).orElse(".");
-        //regex that represents if a character doesn't match any of letters
-        String notAnyLetterRegex = !letters.equals(".") ? "[^" + letters + "]" : letters; //in case list is empty return 'any' regular expression
-        //repeat five times for all positions
-        return notAnyLetterRegex.repeat(WORD_LENGTH);
+    public WordIndex getIndex(Language language, int wordLength){
+        WordIndex index = indexes().getOrDefault(language, Map.of()).get(wordLength);
+        if (index == null) throw new NotFoundException("No " + wordLength + " letter words were found for language " + language);
+        return index;
     }
 
     /**
-     * Checks if the given word contains all the letters played in a position different from
-     * the given one.
-     *
-     * @param word Word to test
-     * @param lettersPlayed List of letters
-     * @return true if word contains all letters but in another position, false if at least one letter is in the given position or one letter is not in the string
+     * @param language Language of the words
+     * @return Lengths of the words there are lists for in the given language, from shortest to longest
      */
-    private boolean hasEveryOfNotInPosition(String word, List<LetterPlay> lettersPlayed){
-        for (LetterPlay letter : lettersPlayed){
-            if (!word.contains(letter.getLetter().toString()) //word does not contain letter
-                    || (word.contains(letter.getLetter().toString()) && word.charAt(letter.getPosition()) == letter.getLetter())) //word contains letter but in rejected position
-                return false;
+    public Set<Integer> getWordLengths(Language language){
+        return indexes().getOrDefault(language, Map.of()).keySet();
+    }
+
+    public HelperResultCache getResultCache(){
+        return resultCache;
+    }
+
+    private Map<Language, Map<Integer, WordIndex>> indexes(){
+        Map<Language, Map<Integer, WordIndex>> loaded = indexes;
+        if (loaded == null) {
+            synchronized (this) {
+                if (indexes == null) indexes = loadIndexes();
+                loaded = indexes;
+            }
+        }
+        return loaded;
+    }
+
+    private Map<Language, Map<Integer, WordIndex>> loadIndexes(){
+        Map<Language, Map<Integer, WordIndex>> loaded = new EnumMap<>(Language.class);
+        for (WordListSource source : wordLists) {
+            loaded.computeIfAbsent(source.getLanguage(), language -> new TreeMap<>())
+                    .put(source.getWordLength(), source.index());
         }
-        return true;
+        return loaded;
     }
-}
\ No newline at end of file
+}
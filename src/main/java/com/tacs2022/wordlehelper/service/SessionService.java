@@ -6,8 +6,11 @@ import com.tacs2022.wordlehelper.exceptions.ExpiredRequestException;
 import com.tacs2022.wordlehelper.repos.SessionRepository;
 import com.tacs2022.wordlehelper.security.jwt.TokenProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.Set;
+
 @Service
 public class SessionService {
     @Autowired
@@ -17,6 +20,15 @@ public class SessionService {
     @Autowired
     SecurityService securityService;
 
+    private final Set<String> adminUsers;
+
+    /**
+     * @param adminUsers Usernames whose sessions may use the admin endpoints
+     */
+    public SessionService(@Value("${security.admin-users:}") Set<String> adminUsers) {
+        this.adminUsers = adminUsers;
+    }
+
     public String getToken(String username, String password) {
         if(userService.validatePassword(username, password)){
             Session lastSession = sessionRepo.findByUsername(username);
@@ -24,7 +36,7 @@ public class SessionService {
                 sessionRepo.delete(lastSession);
             }
             User user = userService.findByUsername(username);
-            String token = TokenProvider.generateToken(user);
+            String token = TokenProvider.generateToken(user, adminUsers.contains(user.getUsername()));
             Session session = new Session(token, user);
             this.sessionRepo.save(session);
             return token;
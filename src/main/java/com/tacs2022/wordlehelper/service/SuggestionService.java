@@ -0,0 +1,150 @@
+package com.tacs2022.wordlehelper.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tacs2022.wordlehelper.domain.Language;
+import com.tacs2022.wordlehelper.domain.play.WordPlay;
+import com.tacs2022.wordlehelper.exceptions.InvalidPlayException;
+import com.tacs2022.wordlehelper.exceptions.NotFoundException;
+import com.tacs2022.wordlehelper.exceptions.SimulationInProgressException;
+import com.tacs2022.wordlehelper.exceptions.SuggestionsUnavailableException;
+import com.tacs2022.wordlehelper.service.helper.FeedbackMatrices;
+import com.tacs2022.wordlehelper.service.helper.FeedbackMatrix;
+import com.tacs2022.wordlehelper.service.helper.GuessRanker;
+import com.tacs2022.wordlehelper.service.helper.GuessRanking;
+import com.tacs2022.wordlehelper.service.helper.PlayConstraints;
+import com.tacs2022.wordlehelper.service.helper.SimulationJob;
+import com.tacs2022.wordlehelper.service.helper.SolverSimulator;
+import com.tacs2022.wordlehelper.service.helper.WordIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+public class SuggestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuggestionService.class);
+
+    //simulations that can be polled, the oldest ones are forgotten
+    private static final int MAX_SIMULATIONS = 16;
+
+    @Autowired
+    private HelperService helperService;
+    @Autowired
+    private FeedbackMatrices feedbackMatrices;
+
+    private final GuessRanker guessRanker;
+    private final ForkJoinPool simulationPool;
+    private final SolverSimulator solverSimulator;
+    private final Cache<String, SimulationJob> simulations = Caffeine.newBuilder().maximumSize(MAX_SIMULATIONS).build();
+    private final AtomicBoolean simulating = new AtomicBoolean();
+
+    /**
+     * @param helperPool Pool the guesses of the users are ranked in
+     * @param simulationPool Pool the simulations run in
+     */
+    public SuggestionService(@Qualifier("helperPool") ForkJoinPool helperPool,
+                             @Qualifier("simulationPool") ForkJoinPool simulationPool) {
+        this.guessRanker = new GuessRanker(helperPool);
+        this.simulationPool = simulationPool;
+        this.solverSimulator = new SolverSimulator(simulationPool);
+    }
+
+    /**
+     * Ranks the words of the given language as the next guess for the given play, by the expected
+     * information they reveal about the winning word.
+     *
+     * @param wordPlay Attempted play
+     * @param language Language the game is played in
+     * @param wordLength Length of the words of the game
+     * @param limit Maximum number of suggestions
+     * @param budget Time after which no more guesses are evaluated, including the wait for the feedback matrix
+     * @return Best guesses found within the budget
+     * @throws SuggestionsUnavailableException if the feedback matrix of the words is not built within the budget
+     */
+    public GuessRanking getSuggestions(WordPlay wordPlay, Language language, int wordLength, int limit, Duration budget) {
+        return getSuggestions(PlayConstraints.of(wordPlay, wordLength), language, limit, budget);
+    }
+
+    /**
+     * Same as {@link #getSuggestions(WordPlay, Language, int, int, Duration)}, for a play that is already
+     * compiled for the length of the words of the game.
+     */
+    public GuessRanking getSuggestions(PlayConstraints constraints, Language language, int limit, Duration budget) {
+        int wordLength = constraints.getWordLength();
+        if (!FeedbackMatrix.supports(wordLength))
+            throw new InvalidPlayException("Suggestions are not available for words of " + wordLength + " letters");
+
+        long start = System.nanoTime();
+        WordIndex index = helperService.getIndex(language, wordLength);
+        checkSize(index);
+        //resolved against the same index the matrix is built from, in case the word lists are reloaded meanwhile
+        long[] candidates = helperService.getResultCache().candidates(index, constraints);
+        //the matrix may still be building (i.e.: right after a reload), which takes longer than any budget
+        FeedbackMatrix matrix = feedbackMatrices.get(index.getCorpus(), budget);
+        Duration left = budget.minusNanos(System.nanoTime() - start);
+        return guessRanker.rank(matrix, candidates, limit, left.isNegative() ? Duration.ZERO : left);
+    }
+
+    /**
+     * Starts solving in the background every word of the given language and length as the answer of a
+     * game, following the suggestions each round, to evaluate how they perform. Only one simulation runs
+     * at a time.
+     *
+     * @param language Language of the words
+     * @param wordLength Length of the words
+     * @param hardMode Whether every guess must keep the hints of the previous ones
+     * @return Running simulation, see {@link #getSimulation}
+     * @throws SimulationInProgressException if another simulation is running
+     */
+    public SimulationJob startSimulation(Language language, int wordLength, boolean hardMode) {
+        if (!FeedbackMatrix.supports(wordLength))
+            throw new InvalidPlayException("Suggestions are not available for words of " + wordLength + " letters");
+
+        WordIndex index = helperService.getIndex(language, wordLength);
+        checkSize(index);
+        if (!simulating.compareAndSet(false, true))
+            throw new SimulationInProgressException("Another simulation is running, try again when it's done");
+
+        SimulationJob job = new SimulationJob(UUID.randomUUID().toString(), language, wordLength, hardMode);
+        simulations.put(job.getId(), job);
+        CompletableFuture.supplyAsync(() -> solverSimulator.simulate(feedbackMatrices.get(index.getCorpus()), hardMode), simulationPool)
+                .whenComplete((result, e) -> {
+                    //released first, so whoever sees the job done can start the next one
+                    simulating.set(false);
+                    if (e == null) {
+                        job.complete(result);
+                    } else {
+                        logger.error("Simulation {} of {} words of {} letters failed", job.getId(), language, wordLength, e);
+                        job.fail(e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+                    }
+                });
+        return job;
+    }
+
+    /**
+     * @param id Id of the simulation
+     * @return The simulation, with its result if it's done
+     * @throws NotFoundException if there is no simulation with the given id, or it was forgotten
+     */
+    public SimulationJob getSimulation(String id) {
+        SimulationJob job = simulations.getIfPresent(id);
+        if (job == null) throw new NotFoundException("No simulation with id " + id + " was found");
+        return job;
+    }
+
+    private static void checkSize(WordIndex index) {
+        if (!FeedbackMatrix.supports(index.getCorpus()))
+            throw new InvalidPlayException("Suggestions are not available for lists of more than " + FeedbackMatrix.MAX_WORDS
+                    + " words, the list of " + index.getCorpus().getLanguage() + " words of " + index.getCorpus().getWordLength()
+                    + " letters has " + index.getCorpus().size());
+    }
+}
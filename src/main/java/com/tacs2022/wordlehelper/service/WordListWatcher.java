@@ -0,0 +1,132 @@
+package com.tacs2022.wordlehelper.service;
+
+import com.tacs2022.wordlehelper.service.helper.CorpusFile;
+import com.tacs2022.wordlehelper.service.helper.FeedbackMatrices;
+import com.tacs2022.wordlehelper.service.helper.WordIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reloads the helper when one of the word lists it reads from the file system changes, so curated lists
+ * are picked up without a restart. Lists are read on the watcher thread and swapped in by
+ * {@link HelperService#reload()}, requests never wait for them.
+ *
+ * Editors and copies often write a file in several steps, so the watcher waits until the lists have
+ * been quiet for a while before reading them.
+ */
+@Component
+public class WordListWatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(WordListWatcher.class);
+
+    private final HelperService helperService;
+    private final FeedbackMatrices feedbackMatrices;
+    private final boolean enabled;
+    private final long quietMillis;
+    private WatchService watchService;
+    private Thread thread;
+
+    public WordListWatcher(HelperService helperService,
+                           FeedbackMatrices feedbackMatrices,
+                           @Value("${helper.word-lists.watch:false}") boolean enabled,
+                           @Value("${helper.word-lists.watch-delay:1s}") Duration quietPeriod) {
+        this.helperService = helperService;
+        this.feedbackMatrices = feedbackMatrices;
+        this.enabled = enabled;
+        this.quietMillis = quietPeriod.toMillis();
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled || helperService.getWordListFiles().isEmpty()) return;
+
+        //files are watched through their directories, the names tell which events are about a list
+        Map<Path, Set<Path>> watched = new HashMap<>();
+        for (Path file : helperService.getWordListFiles()) {
+            Path absolute = file.toAbsolutePath();
+            Set<Path> names = watched.computeIfAbsent(absolute.getParent(), directory -> new HashSet<>());
+            names.add(absolute.getFileName());
+            names.add(Paths.get(CorpusFile.locationOf(absolute.getFileName().toString())));
+        }
+
+        watchService = FileSystems.getDefault().newWatchService();
+        Map<WatchKey, Set<Path>> keys = new HashMap<>();
+        for (Map.Entry<Path, Set<Path>> directory : watched.entrySet()) {
+            WatchKey key = directory.getKey().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            keys.put(key, directory.getValue());
+        }
+
+        thread = new Thread(() -> watch(keys), "word-list-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("Watching word lists in {}", watched.keySet());
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (watchService == null) return;
+        thread.interrupt();
+        watchService.close();
+    }
+
+    private void watch(Map<WatchKey, Set<Path>> keys) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                if (!isAboutAList(watchService.take(), keys)) continue;
+
+                boolean changing = true;
+                while (changing) {
+                    WatchKey key = watchService.poll(quietMillis, TimeUnit.MILLISECONDS);
+                    changing = key != null;
+                    if (changing) isAboutAList(key, keys);
+                }
+                reload();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            //the application is stopping
+        }
+    }
+
+    private static boolean isAboutAList(WatchKey key, Map<WatchKey, Set<Path>> keys) {
+        Set<Path> names = keys.getOrDefault(key, Set.of());
+        boolean aboutAList = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            //on overflow events were lost, so any of them may have been about a list
+            aboutAList |= event.kind() == StandardWatchEventKinds.OVERFLOW || names.contains((Path) event.context());
+        }
+        key.reset();
+        return aboutAList;
+    }
+
+    private void reload() {
+        try {
+            List<WordIndex> indexes = helperService.reload();
+            feedbackMatrices.rebuild(indexes);
+            logger.info("Word lists changed, reloaded {} lists", indexes.size());
+        } catch (RuntimeException e) {
+            logger.error("Could not reload the word lists, the previous ones are still in use", e);
+        }
+    }
+}
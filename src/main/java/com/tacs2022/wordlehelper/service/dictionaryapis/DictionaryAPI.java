@@ -2,7 +2,28 @@ package com.tacs2022.wordlehelper.service.dictionaryapis;
 
 import com.tacs2022.wordlehelper.domain.Language;
 import com.tacs2022.wordlehelper.domain.dictionary.Word;
+import com.tacs2022.wordlehelper.exceptions.DictionaryUnavailableException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 public interface DictionaryAPI {
     public Word getWordDefinition(String word, Language language);
+
+    /**
+     * Looks up the word without blocking the calling thread. By default the blocking lookup runs on the
+     * given executor; APIs that can wait for the answer without holding a thread override it.
+     *
+     * @param executor Executor blocking lookups run on
+     * @return Definition of the word, completed with a NotFoundException if the dictionary has no entry for it, or
+     * with a DictionaryUnavailableException if the executor is too busy to take the lookup
+     */
+    default CompletableFuture<Word> getWordDefinitionAsync(String word, Language language, Executor executor) {
+        try {
+            return CompletableFuture.supplyAsync(() -> getWordDefinition(word, language), executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new DictionaryUnavailableException("Too many words are being looked up in the dictionary", e));
+        }
+    }
 }
@@ -0,0 +1,188 @@
+package com.tacs2022.wordlehelper.service.dictionaryapis;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.tacs2022.wordlehelper.domain.Language;
+import com.tacs2022.wordlehelper.domain.dictionary.Word;
+import com.tacs2022.wordlehelper.exceptions.NotFoundException;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Definitions looked up in a {@link DictionaryAPI}, so a word is requested once in a while instead of
+ * on every lookup. The cache is bounded by its number of entries, evicting the ones least likely to be
+ * looked up again, and entries expire some time after they were loaded so corrections of the dictionary
+ * are picked up.
+ *
+ * Words that are looked up after the refresh time, but before they expire, are returned as they are and
+ * loaded again in the background, so words that are looked up often never expire and are never waited
+ * for. Words that are not looked up again simply expire.
+ *
+ * Words the dictionary has no entry for (i.e.: typos) are cached too, as an empty entry that expires
+ * sooner, so looking them up again is answered without asking the dictionary until a word is added.
+ *
+ * Lookups of a word that is being loaded wait for the same load instead of starting their own, so a word
+ * everyone looks up at once (i.e.: the answer of the day) is requested once. Words are loaded with
+ * {@link DictionaryAPI#getWordDefinitionAsync}, and the cache keeps the pending result rather than holding
+ * a lock or a thread while the dictionary answers.
+ */
+public final class DictionaryCache {
+
+    private final long maxSize;
+    private final Duration ttl;
+    private final Duration refreshAfter;
+    private final Duration missTtl;
+    private final AsyncLoadingCache<Key, Optional<Word>> cache;
+
+    public DictionaryCache(DictionaryAPI dictionaryAPI, long maxSize, Duration ttl, Duration refreshAfter, Duration missTtl,
+                           Executor executor) {
+        this(dictionaryAPI, maxSize, ttl, refreshAfter, missTtl, Ticker.systemTicker(), executor);
+    }
+
+    /**
+     * @param dictionaryAPI API definitions are loaded from
+     * @param maxSize Maximum number of words
+     * @param ttl Time after which a word is loaded again the next time it's looked up
+     * @param refreshAfter Time after which a word is loaded again in the background when it's looked up, shorter than the ttl
+     * @param missTtl Time after which a word the dictionary has no entry for is looked up in the dictionary again
+     * @param ticker Source of the time entries are loaded at
+     * @param executor Executor blocking lookups and refreshes run on
+     */
+    public DictionaryCache(DictionaryAPI dictionaryAPI, long maxSize, Duration ttl, Duration refreshAfter, Duration missTtl,
+                           Ticker ticker, Executor executor) {
+        if (refreshAfter.compareTo(ttl) >= 0)
+            throw new IllegalArgumentException("Words must be refreshed before they expire, but refresh-after is " + refreshAfter + " and ttl is " + ttl);
+
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.refreshAfter = refreshAfter;
+        this.missTtl = missTtl;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new EntryExpiry())
+                .refreshAfterWrite(refreshAfter)
+                .ticker(ticker)
+                .executor(executor)
+                .recordStats()
+                .buildAsync((key, loadExecutor) -> load(dictionaryAPI, key, loadExecutor));
+    }
+
+    /**
+     * Misses are kept as the empty optional, a single shared instance, so each one only takes its key.
+     */
+    private static CompletableFuture<Optional<Word>> load(DictionaryAPI dictionaryAPI, Key key, Executor executor) {
+        return dictionaryAPI.getWordDefinitionAsync(key.name, key.language, executor)
+                .handle((word, e) -> {
+                    if (e == null) return Optional.of(word);
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof NotFoundException) return Optional.empty();
+                    throw e instanceof CompletionException ? (CompletionException) e : new CompletionException(e);
+                });
+    }
+
+    /**
+     * Returns the definition of the word, loading it if it's not cached or it expired. Words are looked up
+     * regardless of case.
+     *
+     * @param name Word to look up
+     * @param language Language of the word
+     * @return Definition of the word
+     * @throws NotFoundException if the dictionary has no entry for the word
+     */
+    public Word get(String name, Language language) {
+        try {
+            return getAsync(name, language).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    /**
+     * Same as {@link #get}, without waiting for the word to be loaded.
+     *
+     * @return Definition of the word, completed with a {@link NotFoundException} if the dictionary has no entry for it
+     */
+    public CompletableFuture<Word> getAsync(String name, Language language) {
+        return cache.get(new Key(name.toLowerCase(Locale.ROOT), language))
+                .thenApply(word -> word.orElseThrow(() -> new NotFoundException(
+                        String.format("No dictionary entry found for language: %s and word: %s", language, name))));
+    }
+
+    public CacheStats getStats() {
+        return cache.synchronous().stats();
+    }
+
+    public long getEntries() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public Duration getRefreshAfter() {
+        return refreshAfter;
+    }
+
+    public Duration getMissTtl() {
+        return missTtl;
+    }
+
+    /**
+     * Words expire after the ttl and misses after the shorter one, counting from when they were loaded.
+     * Refreshes count as loads, so a word that is no longer in the dictionary becomes a miss.
+     */
+    private final class EntryExpiry implements Expiry<Key, Optional<Word>> {
+        @Override
+        public long expireAfterCreate(Key key, Optional<Word> word, long currentTime) {
+            return (word.isPresent() ? ttl : missTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Key key, Optional<Word> word, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, word, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Key key, Optional<Word> word, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private static final class Key {
+        private final String name;
+        private final Language language;
+
+        private Key(String name, Language language) {
+            this.name = name;
+            this.language = language;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key that = (Key) o;
+            return language == that.language && name.equals(that.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, language);
+        }
+    }
+}
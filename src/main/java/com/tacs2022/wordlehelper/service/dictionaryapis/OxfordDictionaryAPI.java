@@ -1,42 +1,136 @@
 package com.tacs2022.wordlehelper.service.dictionaryapis;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tacs2022.wordlehelper.domain.Language;
 import com.tacs2022.wordlehelper.domain.dictionary.Word;
+import com.tacs2022.wordlehelper.exceptions.DictionaryUnavailableException;
 import com.tacs2022.wordlehelper.exceptions.NotFoundException;
 import io.github.cdimascio.dotenv.Dotenv;
-import org.springframework.http.HttpEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.util.UriBuilderFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 @Service
 public class OxfordDictionaryAPI implements DictionaryAPI{
 
-    private static final String API_URL = "https://od-api.oxforddictionaries.com:443/api/v2/entries/%s/%s";
+    private static final Logger logger = LoggerFactory.getLogger(OxfordDictionaryAPI.class);
+
+    private static final String ENTRIES_PATH = "/entries/{language}/{word}";
 
     private static final String APP_ID_ENV = "OXFORD_DICTIONARY_API_ID";
     private static final String APP_KEY_ENV = "OXFORD_DICTIONARY_API_KEY";
 
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final UriBuilderFactory uriBuilderFactory = new DefaultUriBuilderFactory();
+    private final String entriesUrl;
+    private final Duration readTimeout;
+    private final String[] headers;
+
+    /**
+     * Reads the credentials once, from the .env file if there is one or else from the environment.
+     */
+    @Autowired
+    public OxfordDictionaryAPI(@Qualifier("dictionaryHttpClient") HttpClient httpClient,
+                               ObjectMapper objectMapper,
+                               @Value("${dictionary.oxford.url:https://od-api.oxforddictionaries.com:443/api/v2}") String baseUrl,
+                               @Value("${dictionary.http.read-timeout:5s}") Duration readTimeout) {
+        this(httpClient, objectMapper, baseUrl, readTimeout, Dotenv.configure().ignoreIfMissing().load());
+    }
+
+    private OxfordDictionaryAPI(HttpClient httpClient, ObjectMapper objectMapper, String baseUrl, Duration readTimeout,
+                                Dotenv dotenv) {
+        this(httpClient, objectMapper, baseUrl, readTimeout, dotenv.get(APP_ID_ENV), dotenv.get(APP_KEY_ENV));
+    }
+
+    /**
+     * @param httpClient Client of every lookup, which keeps its connections to the API alive and reuses them
+     * @param objectMapper Mapper the entries are read with
+     * @param baseUrl Url of the API, without the trailing slash
+     * @param readTimeout Time lookups wait for the API to answer
+     * @param appId Id of the application in the API
+     * @param appKey Key of the application in the API
+     */
+    public OxfordDictionaryAPI(HttpClient httpClient, ObjectMapper objectMapper, String baseUrl, Duration readTimeout,
+                               String appId, String appKey) {
+        if (appId == null || appKey == null)
+            logger.warn("{} or {} are not set, lookups in the dictionary will be rejected", APP_ID_ENV, APP_KEY_ENV);
+
+        List<String> headers = new ArrayList<>(List.of(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE));
+        if (appId != null) headers.addAll(List.of("app_id", appId));
+        if (appKey != null) headers.addAll(List.of("app_key", appKey));
+
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.entriesUrl = baseUrl + ENTRIES_PATH;
+        this.readTimeout = readTimeout;
+        this.headers = headers.toArray(new String[0]);
+    }
+
+    /**
+     * Waits for the same lookup {@link #getWordDefinitionAsync} does, so both share the connections of the client.
+     */
     @Override
     public Word getWordDefinition(String word, Language language) {
-        RestTemplate restTemplate = new RestTemplate();
+        try {
+            return getWordDefinitionAsync(word, language, Runnable::run).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
 
-        HttpHeaders headers = new HttpHeaders();
+    /**
+     * Looks up the word without holding a thread while the API answers. The executor is not used, the
+     * client completes lookups on its own executor.
+     */
+    @Override
+    public CompletableFuture<Word> getWordDefinitionAsync(String word, Language language, Executor executor) {
+        URI uri = uriBuilderFactory.expand(entriesUrl, language.toString().toLowerCase(), word);
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(readTimeout).headers(headers).GET().build();
 
-        Dotenv dotenv = Dotenv.load();
-        headers.add("app_id", dotenv.get(APP_ID_ENV));
-        headers.add("app_key", dotenv.get(APP_KEY_ENV));
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .handle((response, e) -> {
+                    if (e != null) {
+                        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                        throw new DictionaryUnavailableException("Could not reach the dictionary", cause);
+                    }
+                    return asWord(response, word, language);
+                });
+    }
 
-        HttpEntity<String> requestEntity = new HttpEntity<>(headers);
+    private Word asWord(HttpResponse<byte[]> response, String word, Language language) {
+        int status = response.statusCode();
+        //other client errors (i.e.: invalid credentials or too many requests) are not about the word, so they are not misses
+        if (status == HttpStatus.NOT_FOUND.value() || status == HttpStatus.BAD_REQUEST.value())
+            throw new NotFoundException(String.format("No dictionary entry found for language: %s and word: %s", language, word));
+        if (status != HttpStatus.OK.value())
+            throw new DictionaryUnavailableException("The dictionary answered with status " + status);
 
         try {
-            ResponseEntity<OxfordDictionaryWord> response = restTemplate.exchange(String.format(API_URL, language.toString().toLowerCase(), word), HttpMethod.GET, requestEntity, OxfordDictionaryWord.class);
-            return response.getBody().asWord();
-        }catch (HttpClientErrorException e){
-            throw new NotFoundException(String.format("No dictionary entry found for language: %s and word: %s", language, word));
+            return objectMapper.readValue(response.body(), OxfordDictionaryWord.class).asWord();
+        } catch (IOException e) {
+            throw new DictionaryUnavailableException("Could not read the dictionary entry of " + word, e);
         }
     }
 }
@@ -0,0 +1,43 @@
+package com.tacs2022.wordlehelper.service.helper;
+
+/**
+ * Maps the letters supported by the helper to small integer codes so they can be used as bit
+ * positions in letter masks. English letters take codes 0 to 25 and the Spanish 'Ñ' takes 26.
+ */
+public final class Alphabet {
+
+    public static final int SIZE = 27;
+    public static final int INVALID = -1;
+
+    private static final int ENE = 26;
+
+    private Alphabet() {
+    }
+
+    /**
+     * @param letter Letter in upper or lower case
+     * @return Code of the letter, or {@link #INVALID} if the letter is not supported
+     */
+    public static int codeOf(char letter) {
+        if (letter >= 'a' && letter <= 'z') return letter - 'a';
+        if (letter >= 'A' && letter <= 'Z') return letter - 'A';
+        if (letter == '\u00F1' || letter == '\u00D1') return ENE; //ñ and Ñ
+        return INVALID;
+    }
+
+    /**
+     * @param code Code of a letter
+     * @return Upper case letter for the given code
+     */
+    public static char letterOf(int code) {
+        return code == ENE ? '\u00D1' : (char) ('A' + code);
+    }
+
+    /**
+     * @param code Code of a letter
+     * @return Mask with only the bit of the given letter set
+     */
+    public static int maskOf(int code) {
+        return 1 << code;
+    }
+}
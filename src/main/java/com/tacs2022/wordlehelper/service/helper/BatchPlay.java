@@ -0,0 +1,30 @@
+package com.tacs2022.wordlehelper.service.helper;
+
+import com.tacs2022.wordlehelper.domain.Language;
+
+/**
+ * One of the plays of a batch request, compiled for the length of the words it is resolved against,
+ * along with the language it is resolved in.
+ */
+public final class BatchPlay {
+
+    private final PlayConstraints constraints;
+    private final Language language;
+
+    public BatchPlay(PlayConstraints constraints, Language language) {
+        this.constraints = constraints;
+        this.language = language;
+    }
+
+    public PlayConstraints getConstraints() {
+        return constraints;
+    }
+
+    public Language getLanguage() {
+        return language;
+    }
+
+    public int getWordLength() {
+        return constraints.getWordLength();
+    }
+}
@@ -0,0 +1,38 @@
+package com.tacs2022.wordlehelper.service.helper;
+
+/**
+ * Result of one of the plays of a batch request: its possible winning words, or why they could not be
+ * found, so a play that fails doesn't fail the rest of the batch.
+ */
+public final class BatchResult {
+
+    private final CandidateSet candidates;
+    private final RuntimeException failure;
+
+    private BatchResult(CandidateSet candidates, RuntimeException failure) {
+        this.candidates = candidates;
+        this.failure = failure;
+    }
+
+    public static BatchResult of(CandidateSet candidates) {
+        return new BatchResult(candidates, null);
+    }
+
+    public static BatchResult failed(RuntimeException failure) {
+        return new BatchResult(null, failure);
+    }
+
+    /**
+     * @return Possible winning words of the play, or null if it failed
+     */
+    public CandidateSet getCandidates() {
+        return candidates;
+    }
+
+    /**
+     * @return Why the play failed (i.e.: a NotFoundException if its word list was dropped by a reload), or null
+     */
+    public RuntimeException getFailure() {
+        return failure;
+    }
+}
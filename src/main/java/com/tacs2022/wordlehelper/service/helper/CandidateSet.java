@@ -0,0 +1,84 @@
+package com.tacs2022.wordlehelper.service.helper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Words of an index that satisfy a play, kept as a bitset over word ordinals. Words are only decoded
+ * when they are read, so the set can be counted, paged or streamed without building the whole list.
+ */
+public final class CandidateSet {
+
+    public static final int END = -1;
+
+    private final WordIndex index;
+    private final long[] bits;
+
+    /**
+     * @param index Index the bitset was resolved against
+     * @param bits Bitset of the candidates, which is not modified
+     */
+    public CandidateSet(WordIndex index, long[] bits) {
+        this.index = index;
+        this.bits = bits;
+    }
+
+    public WordIndex getIndex() {
+        return index;
+    }
+
+    public int count() {
+        return index.count(bits);
+    }
+
+    /**
+     * @return How many words of the set contain each letter, overall and in each position
+     */
+    public LetterHistogram histogram() {
+        return index.histogram(bits);
+    }
+
+    /**
+     * @return Every word of the set, in corpus order
+     */
+    public List<String> words() {
+        return index.words(bits);
+    }
+
+    /**
+     * @param from Ordinal to start looking from
+     * @return Ordinal of the first word of the set at or after the given one, or {@link #END} if there is none
+     */
+    public int next(int from) {
+        if (from < 0) from = 0;
+        int block = from >>> 6;
+        if (block >= bits.length) return END;
+
+        long remaining = bits[block] & (-1L << from);
+        while (remaining == 0) {
+            if (++block == bits.length) return END;
+            remaining = bits[block];
+        }
+        return block * Long.SIZE + Long.numberOfTrailingZeros(remaining);
+    }
+
+    public String word(int ordinal) {
+        return index.getCorpus().word(ordinal);
+    }
+
+    /**
+     * @param cursor Ordinal of the first word of the page, 0 for the first page
+     * @param limit Maximum number of words of the page
+     * @return Words of the set from the cursor on
+     */
+    public WordPage page(int cursor, int limit) {
+        int total = count();
+        List<String> words = new ArrayList<>(Math.min(limit, total));
+        int ordinal = next(cursor);
+        while (ordinal != END && words.size() < limit) {
+            words.add(word(ordinal));
+            ordinal = next(ordinal + 1);
+        }
+        return new WordPage(words, ordinal == END ? null : ordinal, total);
+    }
+}
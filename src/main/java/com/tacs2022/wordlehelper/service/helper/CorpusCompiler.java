@@ -0,0 +1,52 @@
+package com.tacs2022.wordlehelper.service.helper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Compiles word lists into {@link CorpusFile}s. It runs as part of the build (see the pom), writing the
+ * compiled lists next to the text ones in the output directory so both end up in the classpath. Lists
+ * whose compiled file is newer than them, and can be read, are left as they are.
+ *
+ * Usage: CorpusCompiler output-directory language:length:resource...
+ * (i.e.: "target/classes EN:5:helper/5letter-english.list").
+ */
+public final class CorpusCompiler {
+
+    private CorpusCompiler() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2)
+            throw new IllegalArgumentException("Usage: CorpusCompiler output-directory language:length:resource...");
+
+        Path outputDirectory = Paths.get(args[0]);
+        for (int i = 1 ; i < args.length ; i++) {
+            for (WordListSource source : WordListSource.parse(args[i])) {
+                Path file = outputDirectory.resolve(CorpusFile.locationOf(source.getPath()));
+                if (isUpToDate(source, outputDirectory.resolve(source.getPath()), file)) {
+                    System.out.println(source.getLocation() + " is up to date in " + file);
+                    continue;
+                }
+
+                WordIndex index = new WordIndex(source.load());
+                CorpusFile.write(index, file);
+                System.out.println("Compiled " + index.getCorpus().size() + " words of " + source.getLocation() + " into " + file);
+            }
+        }
+    }
+
+    private static boolean isUpToDate(WordListSource source, Path list, Path file) {
+        try {
+            if (!Files.exists(file) || !Files.exists(list)
+                    || Files.getLastModifiedTime(file).compareTo(Files.getLastModifiedTime(list)) < 0) return false;
+            CorpusFile.map(file, source.getLanguage(), source.getWordLength());
+            return true;
+        } catch (IOException | RuntimeException e) {
+            //written by another version, or not completely
+            return false;
+        }
+    }
+}
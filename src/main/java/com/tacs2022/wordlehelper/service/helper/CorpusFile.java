@@ -0,0 +1,195 @@
+package com.tacs2022.wordlehelper.service.helper;
+
+import com.tacs2022.wordlehelper.domain.Language;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * Binary form of a {@link WordIndex}, so the service can map an index built ahead of time instead of
+ * parsing and indexing the word list when it starts. Files are written by {@link CorpusCompiler} as part
+ * of the build, next to the list they were compiled from (i.e.: "helper/5letter-english.corpus").
+ *
+ * Every number is little endian. The file starts with a header of {@value #HEADER_BYTES} bytes:
+ * <pre>
+ *  0  magic number "WHCP"
+ *  4  version of the format
+ *  8  language name, in ASCII padded with zeros
+ * 16  length of the words
+ * 20  number of words
+ * 24  checksum of the words, see {@link WordCorpus#getChecksum()}
+ * 32  CRC32 of everything after the header
+ * </pre>
+ * followed by the packed words, the postings of the index and the letter masks of the words, laid out as
+ * they are kept in memory.
+ */
+public final class CorpusFile {
+
+    public static final String EXTENSION = ".corpus";
+    public static final int VERSION = 1;
+
+    static final int MAGIC = 0x50434857;
+    static final int HEADER_BYTES = 40;
+
+    private static final String LIST_EXTENSION = ".list";
+    private static final int LANGUAGE_BYTES = 8;
+    private static final int CRC_OFFSET = 32;
+
+    private CorpusFile() {
+    }
+
+    /**
+     * @param listLocation Location of a word list (i.e.: "helper/5letter-english.list")
+     * @return Location of the file compiled from it (i.e.: "helper/5letter-english.corpus")
+     */
+    public static String locationOf(String listLocation) {
+        String base = listLocation.endsWith(LIST_EXTENSION)
+                ? listLocation.substring(0, listLocation.length() - LIST_EXTENSION.length())
+                : listLocation;
+        return base + EXTENSION;
+    }
+
+    /**
+     * Writes the given index, replacing the file if it exists.
+     *
+     * @param index Index to write
+     * @param file Location of the file
+     * @throws IOException if the file could not be written
+     */
+    public static void write(WordIndex index, Path file) throws IOException {
+        WordCorpus corpus = index.getCorpus();
+        int words = corpus.size();
+        int postings = WordIndex.postingsSize(corpus);
+        ByteBuffer buffer = ByteBuffer.allocate(sizeOf(words, corpus.getWordLength())).order(ByteOrder.LITTLE_ENDIAN);
+
+        region(buffer, packedWordsOffset(), words * Long.BYTES).asLongBuffer().put(corpus.packedWords());
+        region(buffer, postingsOffset(words), postings * Long.BYTES).asLongBuffer().put(index.postings());
+        region(buffer, letterMasksOffset(words, corpus.getWordLength()), words * Integer.BYTES).asIntBuffer().put(corpus.letterMasks());
+
+        buffer.putInt(0, MAGIC)
+                .putInt(4, VERSION)
+                .putInt(16, corpus.getWordLength())
+                .putInt(20, words)
+                .putLong(24, corpus.getChecksum());
+        byte[] language = corpus.getLanguage().name().getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0 ; i < language.length && i < LANGUAGE_BYTES ; i++) buffer.put(8 + i, language[i]);
+        buffer.putLong(CRC_OFFSET, crcOf(buffer));
+
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        Files.write(file, buffer.array());
+    }
+
+    private static int packedWordsOffset() {
+        return HEADER_BYTES;
+    }
+
+    private static int postingsOffset(int words) {
+        return packedWordsOffset() + words * Long.BYTES;
+    }
+
+    private static int letterMasksOffset(int words, int wordLength) {
+        return postingsOffset(words) + WordIndex.postingsSize(words, wordLength) * Long.BYTES;
+    }
+
+    private static int sizeOf(int words, int wordLength) {
+        return letterMasksOffset(words, wordLength) + words * Integer.BYTES;
+    }
+
+    /**
+     * @return View of the given bytes of the file, in the byte order of the file
+     */
+    private static ByteBuffer region(ByteBuffer file, int offset, int bytes) {
+        return file.duplicate().position(offset).limit(offset + bytes).slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static long crcOf(ByteBuffer file) {
+        CRC32 crc = new CRC32();
+        crc.update(file.duplicate().position(HEADER_BYTES));
+        return crc.getValue();
+    }
+
+    /**
+     * Maps a file written by {@link #write}. The index reads the file in place, nothing is copied to the heap.
+     *
+     * @param file Location of the file
+     * @param language Language the index is expected to be of
+     * @param wordLength Length of the words the index is expected to have
+     * @return Index stored in the file
+     * @throws IOException if the file could not be read
+     * @throws IllegalStateException if the file is not a valid index of the given language and length
+     */
+    public static WordIndex map(Path file, Language language, int wordLength) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), language, wordLength);
+        }
+    }
+
+    /**
+     * Loads a file written by {@link #write} from the classpath. Files in a directory are mapped, files inside
+     * a jar are copied once to a direct buffer.
+     *
+     * @param resource Classpath location of the file
+     * @param language Language the index is expected to be of
+     * @param wordLength Length of the words the index is expected to have
+     * @return Index stored in the file, or empty if there is no such file
+     * @throws IOException if the file could not be read
+     * @throws IllegalStateException if the file is not a valid index of the given language and length
+     */
+    public static Optional<WordIndex> fromClasspath(String resource, Language language, int wordLength) throws IOException {
+        URL url = CorpusFile.class.getClassLoader().getResource(resource);
+        if (url == null) return Optional.empty();
+
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return Optional.of(map(Paths.get(url.toURI()), language, wordLength));
+            } catch (URISyntaxException e) {
+                throw new IOException("Invalid location of " + resource, e);
+            }
+        }
+        try (InputStream stream = url.openStream()) {
+            byte[] bytes = stream.readAllBytes();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+            return Optional.of(read(buffer, language, wordLength));
+        }
+    }
+
+    private static WordIndex read(ByteBuffer file, Language language, int wordLength) {
+        ByteBuffer buffer = file.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC)
+            throw new IllegalStateException("Not a corpus file");
+        if (buffer.getInt(4) != VERSION)
+            throw new IllegalStateException("Corpus file version " + buffer.getInt(4) + " is not supported, expected " + VERSION);
+
+        byte[] name = new byte[LANGUAGE_BYTES];
+        for (int i = 0 ; i < LANGUAGE_BYTES ; i++) name[i] = buffer.get(8 + i);
+        String storedLanguage = new String(name, StandardCharsets.US_ASCII).trim();
+        int storedLength = buffer.getInt(16);
+        if (!language.name().equals(storedLanguage) || storedLength != wordLength)
+            throw new IllegalStateException("Corpus file holds " + storedLength + " letter words of language " + storedLanguage
+                    + ", expected " + wordLength + " letter words of language " + language);
+
+        int words = buffer.getInt(20);
+        if (words < 0 || buffer.capacity() != sizeOf(words, wordLength))
+            throw new IllegalStateException("Corpus file of " + buffer.capacity() + " bytes does not hold " + words + " words");
+        if (buffer.getLong(CRC_OFFSET) != crcOf(buffer))
+            throw new IllegalStateException("Corpus file is corrupt, its CRC does not match");
+
+        WordCorpus corpus = new WordCorpus(language, wordLength,
+                region(buffer, packedWordsOffset(), words * Long.BYTES).asLongBuffer(),
+                region(buffer, letterMasksOffset(words, wordLength), words * Integer.BYTES).asIntBuffer(),
+                buffer.getLong(24));
+        return new WordIndex(corpus, region(buffer, postingsOffset(words), WordIndex.postingsSize(corpus) * Long.BYTES).asLongBuffer());
+    }
+}
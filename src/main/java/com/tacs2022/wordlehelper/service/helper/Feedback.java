@@ -0,0 +1,114 @@
+package com.tacs2022.wordlehelper.service.helper;
+
+/**
+ * Colour pattern Wordle shows for a guess against an answer, encoded as a base 3 number where the
+ * colour of the letter in position i is the i-th digit (grey = 0, yellow = 1, green = 2). Patterns
+ * of words of up to 5 letters take values between 0 and 242, so they fit in a byte.
+ */
+public final class Feedback {
+
+    public static final int GRAY = 0;
+    public static final int YELLOW = 1;
+    public static final int GREEN = 2;
+    public static final int INVALID = -1;
+
+    private static final char GRAY_INDICATOR = 'W';
+    private static final char YELLOW_INDICATOR = 'Y';
+    private static final char GREEN_INDICATOR = 'G';
+
+    private Feedback() {
+    }
+
+    /**
+     * @param wordLength Length of the words
+     * @return Number of different patterns for words of the given length
+     */
+    public static int patternCount(int wordLength) {
+        int count = 1;
+        for (int i = 0 ; i < wordLength ; i++) count *= 3;
+        return count;
+    }
+
+    /**
+     * @param wordLength Length of the words
+     * @return Pattern of a guess that is the answer
+     */
+    public static int solved(int wordLength) {
+        return patternCount(wordLength) - 1;
+    }
+
+    /**
+     * Parses the colours of a guess written as one character per letter: 'G' for green, 'Y' for yellow
+     * and 'W' for grey (i.e.: "WYWWG").
+     *
+     * @param colours Colours of the letters, in upper or lower case
+     * @return Encoded pattern, or {@link #INVALID} if the string contains other characters
+     */
+    public static int parse(String colours) {
+        int pattern = 0;
+        int weight = 1;
+
+        for (int i = 0 ; i < colours.length() ; i++) {
+            switch (Character.toUpperCase(colours.charAt(i))) {
+                case GREEN_INDICATOR:
+                    pattern += GREEN * weight;
+                    break;
+                case YELLOW_INDICATOR:
+                    pattern += YELLOW * weight;
+                    break;
+                case GRAY_INDICATOR:
+                    break;
+                default:
+                    return INVALID;
+            }
+            weight *= 3;
+        }
+
+        return pattern;
+    }
+
+    /**
+     * Computes the pattern of a guess against a word of the corpus following the rules of the game:
+     * letters in the right position are green, and the remaining letters are yellow from left to right
+     * as long as the answer has occurrences of the letter that are not already green or yellow.
+     *
+     * @param guess Letter codes of the guess
+     * @param corpus Corpus the answer belongs to
+     * @param answer Ordinal of the answer in the corpus
+     * @return Encoded pattern
+     */
+    public static int pattern(int[] guess, WordCorpus corpus, int answer) {
+        long answerWord = corpus.packedWord(answer);
+        int length = guess.length;
+        int pattern = 0;
+        int weight = 1;
+
+        for (int i = 0 ; i < length ; i++) {
+            int letter = guess[i];
+            if (WordCorpus.unpack(answerWord, i) == letter) {
+                pattern += GREEN * weight;
+            } else if (unmatchedInAnswer(guess, answerWord, letter) > unmatchedInGuessBefore(guess, answerWord, letter, i)) {
+                pattern += YELLOW * weight;
+            }
+            weight *= 3;
+        }
+
+        return pattern;
+    }
+
+    private static int unmatchedInAnswer(int[] guess, long answerWord, int letter) {
+        int count = 0;
+        for (int j = 0 ; j < guess.length ; j++) {
+            if (WordCorpus.unpack(answerWord, j) == letter && guess[j] != letter) count++;
+        }
+        return count;
+    }
+
+    private static int unmatchedInGuessBefore(int[] guess, long answerWord, int letter, int position) {
+        int count = 0;
+        for (int j = 0 ; j < position ; j++) {
+            if (guess[j] == letter && WordCorpus.unpack(answerWord, j) != letter) count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,178 @@
+package com.tacs2022.wordlehelper.service.helper;
+
+import com.tacs2022.wordlehelper.domain.Language;
+import com.tacs2022.wordlehelper.exceptions.SuggestionsUnavailableException;
+import com.tacs2022.wordlehelper.service.HelperService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Keeps the {@link FeedbackMatrix} of the current corpus of each language and word length. Matrices are built in the
+ * background when the application starts and when the word lists are reloaded, and stored in the configured directory,
+ * so later restarts only map them.
+ *
+ * Each language and length is built on its own, so requests only wait for the matrix they need while it's being built.
+ */
+@Component
+public class FeedbackMatrices {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeedbackMatrices.class);
+
+    @Autowired
+    private HelperService helperService;
+
+    private final Path directory;
+    private final ForkJoinPool pool;
+    private final Map<Key, Build> matrices = new ConcurrentHashMap<>();
+
+    /**
+     * @param directory Directory the matrices are stored in
+     * @param pool Pool the matrices are built in
+     */
+    public FeedbackMatrices(@Value("${helper.feedback-matrix.directory:${java.io.tmpdir}/wordle-helper}") String directory,
+                            @Qualifier("helperPool") ForkJoinPool pool) {
+        this.directory = Paths.get(directory);
+        this.pool = pool;
+    }
+
+    /**
+     * Starts building the matrices of the word lists when the application starts so the first suggestions don't wait
+     * for them.
+     */
+    @PostConstruct
+    public void init() {
+        for (WordIndex index : helperService.getIndexes()) {
+            if (FeedbackMatrix.supports(index.getCorpus())) build(index.getCorpus());
+        }
+    }
+
+    /**
+     * Starts building in the background the matrices of the given indexes that changed, so the next suggestions
+     * don't have to. Only languages and lengths that already had a matrix are built again.
+     *
+     * @param indexes Indexes of the reloaded word lists
+     */
+    public void rebuild(List<WordIndex> indexes) {
+        for (WordIndex index : indexes) {
+            WordCorpus corpus = index.getCorpus();
+            Key key = new Key(corpus.getLanguage(), corpus.getWordLength());
+            if (!FeedbackMatrix.supports(corpus)) matrices.remove(key);
+            else if (matrices.containsKey(key)) build(corpus);
+        }
+    }
+
+    /**
+     * @param corpus Corpus the patterns are needed for
+     * @return Matrix of the given corpus, waiting for it if it's being built
+     */
+    public FeedbackMatrix get(WordCorpus corpus) {
+        try {
+            return build(corpus).matrix.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    /**
+     * Same as {@link #get(WordCorpus)}, waiting at most the given time for the matrix to be built.
+     *
+     * @param corpus Corpus the patterns are needed for
+     * @param timeout Maximum time to wait for the matrix
+     * @return Matrix of the given corpus
+     * @throws SuggestionsUnavailableException if the matrix is not built within the timeout
+     */
+    public FeedbackMatrix get(WordCorpus corpus, Duration timeout) {
+        try {
+            return build(corpus).matrix.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new SuggestionsUnavailableException(String.format("Suggestions for %s words of %d letters are being prepared, try again in a few seconds",
+                    corpus.getLanguage(), corpus.getWordLength()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SuggestionsUnavailableException("Interrupted while waiting for the suggestions to be prepared");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    /**
+     * Returns the build of the given corpus, starting it if the matrix of its language and length is for another
+     * corpus or its last build failed.
+     */
+    private Build build(WordCorpus corpus) {
+        return matrices.compute(new Key(corpus.getLanguage(), corpus.getWordLength()), (key, current) -> {
+            if (current != null && current.corpus == corpus && !current.matrix.isCompletedExceptionally()) return current;
+
+            CompletableFuture<FeedbackMatrix> matrix = CompletableFuture.supplyAsync(() -> open(corpus), pool);
+            matrix.exceptionally(e -> {
+                logger.error("Could not build the feedback matrix of {} words of {} letters", key.language, key.wordLength, e);
+                return null;
+            });
+            return new Build(corpus, matrix);
+        });
+    }
+
+    private FeedbackMatrix open(WordCorpus corpus) {
+        try {
+            return FeedbackMatrix.open(corpus, directory, pool);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open feedback matrix in " + directory, e);
+        }
+    }
+
+    private static final class Build {
+        private final WordCorpus corpus;
+        private final CompletableFuture<FeedbackMatrix> matrix;
+
+        private Build(WordCorpus corpus, CompletableFuture<FeedbackMatrix> matrix) {
+            this.corpus = corpus;
+            this.matrix = matrix;
+        }
+    }
+
+    private static final class Key {
+        private final Language language;
+        private final int wordLength;
+
+        private Key(Language language, int wordLength) {
+            this.language = language;
+            this.wordLength = wordLength;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key that = (Key) o;
+            return language == that.language && wordLength == that.wordLength;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(language, wordLength);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.tacs2022.wordlehelper.service.helper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Precomputed {@link Feedback} pattern of every word of a corpus, as a guess, against every word of the
+ * same corpus, as an answer. Patterns take one byte per (guess, answer) pair and are memory-mapped from a
+ * file, so the matrix is built once per corpus and is shared with the page cache instead of the heap.
+ *
+ * File layout: a header with a magic number, the format version, the size of the corpus and its checksum,
+ * followed by one row of patterns per guess.
+ */
+public final class FeedbackMatrix {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeedbackMatrix.class);
+
+    private static final int MAGIC = 0x57484642; //"WHFB"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    /**
+     * Words of the largest corpus whose matrix fits in a single mapping, about 46k.
+     */
+    public static final int MAX_WORDS = (int) Math.sqrt(Integer.MAX_VALUE - HEADER_SIZE);
+    //rows of patterns filled by each task of a parallel build
+    private static final int ROWS_PER_TASK = 64;
+
+    private final WordCorpus corpus;
+    private final MappedByteBuffer patterns;
+
+    private FeedbackMatrix(WordCorpus corpus, MappedByteBuffer patterns) {
+        this.corpus = corpus;
+        this.patterns = patterns;
+    }
+
+    /**
+     * Same as {@link #open(WordCorpus, Path, ForkJoinPool)}, building the matrix in the calling thread.
+     */
+    public static FeedbackMatrix open(WordCorpus corpus, Path directory) throws IOException {
+        return open(corpus, directory, null);
+    }
+
+    /**
+     * Maps the matrix of the given corpus from the directory, building it first if there is no file for
+     * the corpus or the file was built for a different version of it.
+     *
+     * @param corpus Corpus the patterns are computed for
+     * @param directory Directory the matrices are stored in
+     * @param pool Pool the rows of the matrix are built in, or null to build them in the calling thread
+     * @return Mapped matrix
+     * @throws IOException if the file can not be read or written
+     */
+    public static FeedbackMatrix open(WordCorpus corpus, Path directory, ForkJoinPool pool) throws IOException {
+        if (!supports(corpus.getWordLength()))
+            throw new IllegalArgumentException("Patterns of words of " + corpus.getWordLength() + " letters do not fit in a byte");
+        if (corpus.size() > MAX_WORDS)
+            throw new IllegalArgumentException("Corpus of " + corpus.size() + " words is too large for a feedback matrix");
+        long size = (long) corpus.size() * corpus.size();
+
+        String prefix = String.format("feedback-%s-%d-", corpus.getLanguage().toString().toLowerCase(), corpus.getWordLength());
+        Path file = directory.resolve(String.format("%s%016x.bin", prefix, corpus.getChecksum()));
+
+        if (!Files.exists(file) || !hasValidHeader(file, corpus)) {
+            build(corpus, directory, file, pool);
+            deleteOthers(directory, prefix, file);
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new FeedbackMatrix(corpus, channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE + size));
+        }
+    }
+
+    /**
+     * @param wordLength Length of the words
+     * @return true if the patterns of words of the given length fit in the matrix
+     */
+    public static boolean supports(int wordLength) {
+        return Feedback.patternCount(wordLength) <= 256;
+    }
+
+    /**
+     * @param corpus Corpus of words
+     * @return true if the patterns of the words fit in the matrix, and the corpus has at most {@link #MAX_WORDS} words
+     */
+    public static boolean supports(WordCorpus corpus) {
+        return supports(corpus.getWordLength()) && corpus.size() <= MAX_WORDS;
+    }
+
+    /**
+     * Deletes the matrices of previous versions of the corpus, which are as large as the new one and are
+     * never mapped again. Matrices that are still mapped keep working until they are unmapped.
+     */
+    private static void deleteOthers(Path directory, String prefix, Path file) {
+        try (DirectoryStream<Path> matrices = Files.newDirectoryStream(directory, prefix + "*.bin")) {
+            for (Path matrix : matrices) {
+                if (!matrix.equals(file)) Files.deleteIfExists(matrix);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not delete previous feedback matrices {}* in {}", prefix, directory, e);
+        }
+    }
+
+    private static boolean hasValidHeader(Path file, WordCorpus corpus) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() != HEADER_SIZE + (long) corpus.size() * corpus.size()) return false;
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            channel.read(header, 0);
+            header.flip();
+            return header.getInt() == MAGIC && header.getInt() == VERSION
+                    && header.getInt() == corpus.size() && header.getLong() == corpus.getChecksum();
+        }
+    }
+
+    /**
+     * Writes the matrix to a temporary file that is moved into place when complete, so a failed or
+     * concurrent build never leaves a partial matrix behind.
+     */
+    private static void build(WordCorpus corpus, Path directory, Path file, ForkJoinPool pool) throws IOException {
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, "feedback-", ".tmp");
+        int size = corpus.size();
+
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) size * size);
+                buffer.putInt(MAGIC).putInt(VERSION).putInt(size).putLong(corpus.getChecksum());
+
+                BuildTask task = new BuildTask(corpus, buffer, 0, size);
+                if (pool == null) fillRows(corpus, buffer, 0, size);
+                else if (ForkJoinTask.getPool() == pool) task.invoke();
+                else pool.invoke(task);
+                buffer.force();
+            }
+
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static void fillRows(WordCorpus corpus, MappedByteBuffer buffer, int from, int to) {
+        int size = corpus.size();
+        for (int guess = from ; guess < to ; guess++) {
+            int[] codes = corpus.letterCodes(guess);
+            int row = HEADER_SIZE + guess * size;
+            for (int answer = 0 ; answer < size ; answer++) {
+                buffer.put(row + answer, (byte) Feedback.pattern(codes, corpus, answer));
+            }
+        }
+    }
+
+    private static final class BuildTask extends RecursiveAction {
+        private final WordCorpus corpus;
+        private final MappedByteBuffer buffer;
+        private final int from;
+        private final int to;
+
+        private BuildTask(WordCorpus corpus, MappedByteBuffer buffer, int from, int to) {
+            this.corpus = corpus;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= ROWS_PER_TASK) {
+                fillRows(corpus, buffer, from, to);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            BuildTask left = new BuildTask(corpus, buffer, from, middle);
+            left.fork();
+            new BuildTask(corpus, buffer, middle, to).compute();
+            left.join();
+        }
+    }
+
+    public WordCorpus getCorpus() {
+        return corpus;
+    }
+
+    /**
+     * @param guess Ordinal of the guessed word
+     * @param answer Ordinal of the answer
+     * @return Encoded {@link Feedback} pattern of the guess against the answer
+     */
+    public int pattern(int guess, int answer) {
+        return patterns.get(HEADER_SIZE + guess * corpus.size() + answer) & 0xFF;
+    }
+}
@@ -0,0 +1,66 @@
+package com.tacs2022.wordlehelper.service.helper;
+
+import java.util.List;
+
+/**
+ * Game being solved round by round. The words that are still possible answers are kept as a bitset
+ * over the corpus the game started with, and each round only tests the words left by the previous one,
+ * so later rounds get cheaper as the game narrows down.
+ */
+public final class GameSession {
+
+    private final String id;
+    private final WordIndex index;
+    private final long[] candidates;
+    private int rounds;
+
+    public GameSession(String id, WordIndex index) {
+        this.id = id;
+        this.index = index;
+        this.candidates = index.all();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public WordIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Discards the words that would not have produced the given colours for the given guess.
+     *
+     * @param guess Letter codes of the guessed word, which does not need to be in the corpus
+     * @param pattern Encoded {@link Feedback} pattern of the guess
+     * @return Number of words that are still possible
+     */
+    public synchronized int applyRound(int[] guess, int pattern) {
+        WordCorpus corpus = index.getCorpus();
+        for (int block = 0 ; block < candidates.length ; block++) {
+            long bits = candidates[block];
+            long remaining = bits;
+            while (bits != 0) {
+                long lowest = bits & -bits;
+                if (Feedback.pattern(guess, corpus, block * Long.SIZE + Long.numberOfTrailingZeros(bits)) != pattern)
+                    remaining &= ~lowest;
+                bits &= bits - 1;
+            }
+            candidates[block] = remaining;
+        }
+        rounds++;
+        return index.count(candidates);
+    }
+
+    public synchronized int getRounds() {
+        return rounds;
+    }
+
+    public synchronized int getRemainingWords() {
+        return index.count(candidates);
+    }
+
+    public synchronized List<String> getPossibleWords() {
+        return index.words(candidates);
+    }
+}
@@ -0,0 +1,50 @@
+package com.tacs2022.wordlehelper.service.helper;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Server side store of the games being solved. Games expire after a period without being used, and the
+ * store is bounded by its number of games, evicting the ones least likely to be used again, so clients
+ * that never finish their games can't fill the heap.
+ */
+@Component
+public class GameSessionStore {
+
+    private final Cache<String, GameSession> sessions;
+
+    /**
+     * @param ttl Time after which a game that is not used expires
+     * @param maxSessions Maximum number of games
+     */
+    public GameSessionStore(@Value("${helper.games.ttl:30m}") Duration ttl,
+                            @Value("${helper.games.max-sessions:10000}") long maxSessions) {
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(maxSessions)
+                .expireAfterAccess(ttl)
+                .build();
+    }
+
+    public GameSession create(WordIndex index) {
+        GameSession session = new GameSession(UUID.randomUUID().toString(), index);
+        sessions.put(session.getId(), session);
+        return session;
+    }
+
+    /**
+     * @param id Id of the game
+     * @return The game, or null if there is no game with the given id or it expired
+     */
+    public GameSession get(String id) {
+        return sessions.getIfPresent(id);
+    }
+
+    public void remove(String id) {
+        sessions.invalidate(id);
+    }
+}
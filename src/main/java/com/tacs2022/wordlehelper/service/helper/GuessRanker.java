@@ -0,0 +1,180 @@
+package com.tacs2022.wordlehelper.service.helper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ranks every word of a corpus as the next guess by the entropy of the {@link Feedback} patterns it
+ * produces over the words that are still possible answers, i.e. by how many bits of information it is
+ * expected to reveal. Guesses are split across the given fork/join pool and the work stops when the time
+ * budget runs out, returning the best guesses among the ones evaluated so far.
+ */
+public final class GuessRanker {
+
+    private static final int GUESSES_PER_TASK = 64;
+
+    private final ForkJoinPool pool;
+
+    public GuessRanker(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * @param matrix Patterns of the corpus
+     * @param candidates Bitset of the words that are still possible answers
+     * @param limit Maximum number of guesses returned
+     * @param budget Time after which no more guesses are evaluated
+     * @return Best guesses, from best to worst
+     */
+    public GuessRanking rank(FeedbackMatrix matrix, long[] candidates, int limit, Duration budget) {
+        return rank(matrix, candidates, null, limit, budget);
+    }
+
+    /**
+     * Same as {@link #rank(FeedbackMatrix, long[], int, Duration)}, only considering some of the words as
+     * guesses (i.e.: the ones that keep the hints in hard mode). It can be called from a task of the same
+     * pool, in which case the guesses are split across the pool from that task.
+     *
+     * @param guesses Bitset of the words that may be guessed, or null if every word may be guessed. It must
+     *                contain every candidate.
+     */
+    public GuessRanking rank(FeedbackMatrix matrix, long[] candidates, long[] guesses, int limit, Duration budget) {
+        int size = matrix.getCorpus().size();
+        int[] answers = ordinals(candidates);
+        if (answers.length == 0) return new GuessRanking(List.of(), 0, 0, size);
+
+        //possible answers are evaluated first so they are always considered when the budget is short
+        int[] ordered = new int[guesses == null ? size : count(guesses)];
+        System.arraycopy(answers, 0, ordered, 0, answers.length);
+        int next = answers.length;
+        for (int ordinal = 0 ; ordinal < size ; ordinal++) {
+            if (!contains(candidates, ordinal) && (guesses == null || contains(guesses, ordinal))) ordered[next++] = ordinal;
+        }
+
+        RankingContext context = new RankingContext(matrix, candidates, answers, limit, System.nanoTime() + budget.toNanos());
+        RankTask task = new RankTask(context, ordered, 0, ordered.length);
+        List<RankedGuess> ranked = ForkJoinTask.getPool() == pool ? task.invoke() : pool.invoke(task);
+
+        return new GuessRanking(ranked, answers.length, context.evaluated.get(), ordered.length);
+    }
+
+    private static int count(long[] bitset) {
+        int count = 0;
+        for (long block : bitset) count += Long.bitCount(block);
+        return count;
+    }
+
+    private static int[] ordinals(long[] bitset) {
+        int[] ordinals = new int[count(bitset)];
+        int next = 0;
+        for (int block = 0 ; block < bitset.length ; block++) {
+            long bits = bitset[block];
+            while (bits != 0) {
+                ordinals[next++] = block * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        return ordinals;
+    }
+
+    private static boolean contains(long[] bitset, int ordinal) {
+        return (bitset[ordinal >>> 6] & (1L << ordinal)) != 0;
+    }
+
+    private static final class RankingContext {
+        private final FeedbackMatrix matrix;
+        private final long[] candidates;
+        private final int[] answers;
+        private final int limit;
+        private final long deadline;
+        private final double[] weightedLog;
+        private final AtomicInteger evaluated = new AtomicInteger();
+
+        private RankingContext(FeedbackMatrix matrix, long[] candidates, int[] answers, int limit, long deadline) {
+            this.matrix = matrix;
+            this.candidates = candidates;
+            this.answers = answers;
+            this.limit = limit;
+            this.deadline = deadline;
+            //c * log2(c) for every possible size of a pattern's bucket
+            this.weightedLog = new double[answers.length + 1];
+            for (int c = 1 ; c <= answers.length ; c++) weightedLog[c] = c * Math.log(c) / Math.log(2);
+        }
+
+        private boolean expired() {
+            return System.nanoTime() - deadline >= 0;
+        }
+
+        /**
+         * Entropy of the patterns of the guess: log2(n) - sum(c * log2(c)) / n, where c is the number
+         * of answers that produce each pattern.
+         */
+        private double entropy(int guess, int[] buckets) {
+            Arrays.fill(buckets, 0);
+            for (int answer : answers) buckets[matrix.pattern(guess, answer)]++;
+
+            double sum = 0;
+            for (int bucket : buckets) sum += weightedLog[bucket];
+            int n = answers.length;
+            return (weightedLog[n] - sum) / n;
+        }
+    }
+
+    private static final class RankTask extends RecursiveTask<List<RankedGuess>> {
+        private final RankingContext context;
+        private final int[] guesses;
+        private final int from;
+        private final int to;
+
+        private RankTask(RankingContext context, int[] guesses, int from, int to) {
+            this.context = context;
+            this.guesses = guesses;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<RankedGuess> compute() {
+            if (to - from <= GUESSES_PER_TASK) return rankRange();
+
+            int middle = (from + to) >>> 1;
+            RankTask left = new RankTask(context, guesses, from, middle);
+            left.fork();
+            List<RankedGuess> right = new RankTask(context, guesses, middle, to).compute();
+            return merge(left.join(), right);
+        }
+
+        private List<RankedGuess> rankRange() {
+            WordCorpus corpus = context.matrix.getCorpus();
+            int[] buckets = new int[Feedback.patternCount(corpus.getWordLength())];
+            //worst guess on top so it's the one dropped when the queue is over the limit
+            PriorityQueue<RankedGuess> best = new PriorityQueue<>(RankedGuess.BEST_FIRST.reversed());
+
+            for (int i = from ; i < to && !context.expired() ; i++) {
+                int guess = guesses[i];
+                best.add(new RankedGuess(guess, corpus.word(guess), context.entropy(guess, buckets), contains(context.candidates, guess)));
+                if (best.size() > context.limit) best.poll();
+                context.evaluated.incrementAndGet();
+            }
+
+            List<RankedGuess> ranked = new ArrayList<>(best);
+            ranked.sort(RankedGuess.BEST_FIRST);
+            return ranked;
+        }
+
+        private List<RankedGuess> merge(List<RankedGuess> left, List<RankedGuess> right) {
+            List<RankedGuess> merged = new ArrayList<>(left.size() + right.size());
+            merged.addAll(left);
+            merged.addAll(right);
+            merged.sort(RankedGuess.BEST_FIRST);
+            return merged.size() > context.limit ? new ArrayList<>(merged.subList(0, context.limit)) : merged;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.tacs2022.wordlehelper.service.helper;
+
+import java.util.List;
+
+/**
+ * Best guesses found by {@link GuessRanker}, along with how much of the corpus was evaluated before
+ * the time budget ran out.
+ */
+public final class GuessRanking {
+
+    private final List<RankedGuess> guesses;
+    private final int remainingWords;
+    private final int evaluatedGuesses;
+    private final int totalGuesses;
+
+    public GuessRanking(List<RankedGuess> guesses, int remainingWords, int evaluatedGuesses, int totalGuesses) {
+        this.guesses = guesses;
+        this.remainingWords = remainingWords;
+        this.evaluatedGuesses = evaluatedGuesses;
+        this.totalGuesses = totalGuesses;
+    }
+
+    public List<RankedGuess> getGuesses() {
+        return guesses;
+    }
+
+    public int getRemainingWords() {
+        return remainingWords;
+    }
+
+    public int getEvaluatedGuesses() {
+        return evaluatedGuesses;
+    }
+
+    public int getTotalGuesses() {
+        return totalGuesses;
+    }
+
+    public boolean isComplete() {
+        return evaluatedGuesses == totalGuesses;
+    }
+}
@@ -0,0 +1,110 @@
+package com.tacs2022.wordlehelper.service.helper;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Results of the helper by play, so equivalent plays (i.e.: the same letters given in a different order)
+ * are resolved against the index once. Plays are keyed by their {@link PlayConstraints} and results are
+ * kept as candidate bitsets, which are far smaller than the lists of words they decode to.
+ *
+ * The cache is bounded by the approximate number of bytes its entries take rather than by their count,
+ * since a bitset of the english corpus is several times the size of a spanish one.
+ */
+public final class HelperResultCache {
+
+    public static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+
+    //key object, its fields and the map entry holding it
+    private static final int ENTRY_OVERHEAD = 96;
+
+    private final long maxBytes;
+    private final ForkJoinPool pool;
+    private final Cache<Key, long[]> cache;
+
+    public HelperResultCache(long maxBytes) {
+        this(maxBytes, null);
+    }
+
+    /**
+     * @param maxBytes Maximum size of the cached results
+     * @param pool Pool to resolve plays over large corpora in, see {@link WordIndex#candidates(PlayConstraints, ForkJoinPool)}.
+     *             Plays are always resolved in the calling thread if it's null.
+     */
+    public HelperResultCache(long maxBytes, ForkJoinPool pool) {
+        this.maxBytes = maxBytes;
+        this.pool = pool;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher(HelperResultCache::weigh)
+                .recordStats()
+                //evictions run on the thread that adds the entry, it's cheaper than a hand off for such small entries
+                .executor(Runnable::run)
+                .build();
+    }
+
+    private static int weigh(Key key, long[] candidates) {
+        return ENTRY_OVERHEAD + key.constraints.estimatedBytes() + 16 + Long.BYTES * candidates.length;
+    }
+
+    /**
+     * Resolves the candidates of the given constraints, or returns the ones resolved before against the
+     * same index. The returned bitset is shared and must not be modified.
+     *
+     * @param index Index of the corpus the play is resolved against
+     * @param constraints Compiled play
+     * @return Bitset of the words that satisfy the constraints
+     */
+    public long[] candidates(WordIndex index, PlayConstraints constraints) {
+        Key key = new Key(index.getGeneration(), constraints);
+        return cache.get(key, k -> index.candidates(constraints, pool));
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    public long getEntries() {
+        return cache.estimatedSize();
+    }
+
+    public long getWeightedBytes() {
+        return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Play and the index it was resolved against. Indexes are told apart by their generation rather than
+     * by their words, so results of a previous version of a word list are never returned after a reload,
+     * and the key doesn't keep the index itself from being collected.
+     */
+    private static final class Key {
+        private final long generation;
+        private final PlayConstraints constraints;
+
+        private Key(long generation, PlayConstraints constraints) {
+            this.generation = generation;
+            this.constraints = constraints;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key that = (Key) o;
+            return generation == that.generation && constraints.equals(that.constraints);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(generation, constraints);
+        }
+    }
+}
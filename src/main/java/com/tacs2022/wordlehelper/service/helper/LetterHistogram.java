@@ -0,0 +1,40 @@
+package com.tacs2022.wordlehelper.service.helper;
+
+/**
+ * How many of a set of words contain each letter, overall and in each position. Counts are indexed by
+ * {@link Alphabet} code.
+ */
+public final class LetterHistogram {
+
+    private final int totalWords;
+    private final int[] containing;
+    private final int[][] inPosition;
+
+    public LetterHistogram(int totalWords, int[] containing, int[][] inPosition) {
+        this.totalWords = totalWords;
+        this.containing = containing;
+        this.inPosition = inPosition;
+    }
+
+    public int getTotalWords() {
+        return totalWords;
+    }
+
+    public int getWordLength() {
+        return inPosition.length;
+    }
+
+    /**
+     * @return Number of words that contain the letter at least once
+     */
+    public int containing(int code) {
+        return containing[code];
+    }
+
+    /**
+     * @return Number of words that have the letter in the given position
+     */
+    public int inPosition(int position, int code) {
+        return inPosition[position][code];
+    }
+}
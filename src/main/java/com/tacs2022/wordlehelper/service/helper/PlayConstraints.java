@@ -0,0 +1,296 @@
+package com.tacs2022.wordlehelper.service.helper;
+
+import com.tacs2022.wordlehelper.domain.play.LetterColor;
+import com.tacs2022.wordlehelper.domain.play.LetterCount;
+import com.tacs2022.wordlehelper.domain.play.LetterPlay;
+import com.tacs2022.wordlehelper.domain.play.WordPlay;
+import com.tacs2022.wordlehelper.exceptions.InvalidPlayException;
+import com.tacs2022.wordlehelper.exceptions.InvalidPlayParameterException;
+import com.tacs2022.wordlehelper.exceptions.NullParametersException;
+
+import java.util.Arrays;
+
+/**
+ * Compiled form of a {@link WordPlay} as letter masks and counts, so a word can be tested against the
+ * play with a few integer operations and without allocating.
+ *
+ * - excludedMask: letters that can not be in the word.
+ * - requiredMask: letters that must be in the word.
+ * - allowedMasks: for each position, the letters that may be placed there.
+ * - minCounts / maxCounts: for each letter, how many times it can appear. Only letters in countMask
+ *   have bounds other than the ones already given by the excluded and required masks.
+ *
+ * Plays that only differ in the order their letters were given compile to equal constraints, so they
+ * can be used as the key of the results of the play.
+ */
+public final class PlayConstraints {
+
+    private static final int ALL_LETTERS = (1 << Alphabet.SIZE) - 1;
+    private static final char BLANK = '_';
+    private static final String YELLOW = "yellow";
+    private static final String GREEN = "green";
+
+    private final int wordLength;
+    private final int excludedMask;
+    private final int requiredMask;
+    private final int countMask;
+    private final int[] allowedMasks;
+    private final byte[] minCounts;
+    private final byte[] maxCounts;
+    private final boolean satisfiable;
+
+    private PlayConstraints(int wordLength, int[] allowedMasks, byte[] minCounts, byte[] maxCounts, boolean satisfiable) {
+        int excludedMask = 0;
+        int requiredMask = 0;
+        int countMask = 0;
+        for (int code = 0 ; code < Alphabet.SIZE ; code++) {
+            int mask = Alphabet.maskOf(code);
+            if (maxCounts[code] == 0) excludedMask |= mask;
+            if (minCounts[code] > 0) requiredMask |= mask;
+            if (minCounts[code] > 1 || (maxCounts[code] > 0 && maxCounts[code] < wordLength)) countMask |= mask;
+            if (minCounts[code] > maxCounts[code]) satisfiable = false;
+        }
+
+        this.wordLength = wordLength;
+        this.excludedMask = excludedMask;
+        this.requiredMask = requiredMask;
+        this.countMask = countMask;
+        this.allowedMasks = allowedMasks;
+        this.minCounts = minCounts;
+        this.maxCounts = maxCounts;
+        this.satisfiable = satisfiable;
+    }
+
+    /**
+     * Compiles the given play for words of the given length.
+     *
+     * @param wordPlay Attempted play
+     * @param wordLength Length of the words the play is tested against
+     * @return Constraints equivalent to the play
+     */
+    public static PlayConstraints of(WordPlay wordPlay, int wordLength) {
+        int[] allowedMasks = new int[wordLength];
+        Arrays.fill(allowedMasks, ALL_LETTERS);
+        byte[] minCounts = new byte[Alphabet.SIZE];
+        byte[] maxCounts = new byte[Alphabet.SIZE];
+        Arrays.fill(maxCounts, (byte) wordLength);
+        boolean satisfiable = true;
+
+        for (LetterPlay letterPlay : wordPlay.getLetters()) {
+            int code = Alphabet.codeOf(letterPlay.getLetter());
+            int position = letterPlay.getPosition();
+            if (letterPlay.getColor() == LetterColor.GREEN && position >= wordLength) satisfiable = false;
+            //letters that are not in the alphabet are bounded by their counts below
+            if (code == Alphabet.INVALID || position < 0 || position >= wordLength) continue;
+
+            int mask = Alphabet.maskOf(code);
+            if (letterPlay.getColor() == LetterColor.GREEN) allowedMasks[position] &= mask;
+            else allowedMasks[position] &= ~mask;
+        }
+
+        for (LetterCount count : wordPlay.getLetterCounts().values()) {
+            int code = Alphabet.codeOf(count.getLetter());
+            if (code == Alphabet.INVALID) {
+                //a letter that is not in the alphabet can not be in any word
+                if (count.getMin() > 0) satisfiable = false;
+                continue;
+            }
+            minCounts[code] = (byte) Math.min(count.getMin(), wordLength + 1);
+            maxCounts[code] = (byte) Math.min(count.getMax(), wordLength);
+        }
+
+        return new PlayConstraints(wordLength, allowedMasks, minCounts, maxCounts, satisfiable);
+    }
+
+    /**
+     * Validates and compiles a play given as the grey, yellow and green parameters of the helper in a single
+     * pass over the strings, without building a {@link WordPlay}. Valid plays compile to the same constraints
+     * as {@link #of} does for the play built from them.
+     *
+     * - At least one parameter must not be null, and they must have at least as many letters combined as
+     *   the length of the words.
+     * - Yellow letters are pairs of a position lower than the length of the words and a letter (i.e.: "0I4C").
+     * - Green letters are a letter or '_' for each position of the word (i.e.: "T__O_").
+     * - Grey letters are taken as they are, the ones that are not in the {@link Alphabet} are ignored.
+     *
+     * @param gray Letters that resulted grey (i.e.: "ARBL"), may be null
+     * @param yellow Pairs of positions and letters that resulted yellow, may be null
+     * @param green Letters that resulted green in their position, may be null
+     * @param wordLength Length of the words the play is tested against
+     * @return Constraints equivalent to the play
+     * @throws NullParametersException if every parameter is null
+     * @throws InvalidPlayParameterException if a parameter is not written as expected, telling which one and where
+     * @throws InvalidPlayException if the play has too few letters, or no word can be of the given length
+     */
+    public static PlayConstraints parse(String gray, String yellow, String green, int wordLength) {
+        if (wordLength < 1 || wordLength > WordCorpus.MAX_WORD_LENGTH)
+            throw new InvalidPlayException("Words must be between 1 and " + WordCorpus.MAX_WORD_LENGTH + " letters long");
+        if (gray == null && yellow == null && green == null)
+            throw new NullParametersException("At least one parameter must be not null");
+
+        int[] allowedMasks = new int[wordLength];
+        Arrays.fill(allowedMasks, ALL_LETTERS);
+        //for every letter, the positions it was coloured in
+        int[] coloredPositions = new int[Alphabet.SIZE];
+        int[] greenPositions = new int[Alphabet.SIZE];
+        int grayMask = 0;
+        int yellowMask = 0;
+        int letters = 0;
+
+        if (gray != null) {
+            for (int i = 0 ; i < gray.length() ; i++) {
+                char letter = gray.charAt(i);
+                if (letter != BLANK && !isDigit(letter)) letters++;
+                int code = Alphabet.codeOf(letter);
+                if (code != Alphabet.INVALID) grayMask |= Alphabet.maskOf(code);
+            }
+        }
+
+        if (yellow != null) {
+            for (int i = 0 ; i < yellow.length() ; i += 2) {
+                if (!isDigit(yellow.charAt(i)))
+                    throw new InvalidPlayParameterException(YELLOW, i, "Yellow parameters must contain only pairs of indexes and letters");
+                int code = i + 1 < yellow.length() ? Alphabet.codeOf(yellow.charAt(i + 1)) : Alphabet.INVALID;
+                if (code == Alphabet.INVALID)
+                    throw new InvalidPlayParameterException(YELLOW, i + 1, "Yellow parameters must contain only pairs of indexes and letters");
+
+                int position = yellow.charAt(i) - '0';
+                if (position >= wordLength)
+                    throw new InvalidPlayParameterException(YELLOW, i, "Yellow positions must be lower than " + wordLength);
+                letters++;
+                yellowMask |= Alphabet.maskOf(code);
+                coloredPositions[code] |= 1 << position;
+                allowedMasks[position] &= ~Alphabet.maskOf(code);
+            }
+        }
+
+        if (green != null && !green.isEmpty()) {
+            if (green.length() != wordLength)
+                throw new InvalidPlayParameterException(GREEN, null, "Green parameters must be " + wordLength + " characters long and contain only letters or underscore");
+            for (int position = 0 ; position < wordLength ; position++) {
+                char letter = green.charAt(position);
+                if (letter == BLANK) continue;
+                int code = Alphabet.codeOf(letter);
+                if (code == Alphabet.INVALID)
+                    throw new InvalidPlayParameterException(GREEN, position, "Green parameters must be " + wordLength + " characters long and contain only letters or underscore");
+
+                letters++;
+                greenPositions[code] |= 1 << position;
+                coloredPositions[code] |= 1 << position;
+                allowedMasks[position] &= Alphabet.maskOf(code);
+            }
+        }
+
+        if (letters < wordLength)
+            throw new InvalidPlayException("A Wordle play must be of at least " + wordLength + " characters combined");
+
+        byte[] minCounts = new byte[Alphabet.SIZE];
+        byte[] maxCounts = new byte[Alphabet.SIZE];
+        Arrays.fill(maxCounts, (byte) wordLength);
+        for (int code = 0 ; code < Alphabet.SIZE ; code++) {
+            //same bounds as the ones WordPlay counts from the flattened letters
+            int mask = Alphabet.maskOf(code);
+            int min = Math.max(Integer.bitCount(greenPositions[code]), (yellowMask & mask) != 0 ? 1 : 0);
+            int max = (grayMask & mask) != 0 ? Integer.bitCount(coloredPositions[code]) : wordLength;
+            minCounts[code] = (byte) Math.min(min, wordLength + 1);
+            maxCounts[code] = (byte) Math.min(max, wordLength);
+        }
+
+        return new PlayConstraints(wordLength, allowedMasks, minCounts, maxCounts, true);
+    }
+
+    private static boolean isDigit(char character) {
+        return character >= '0' && character <= '9';
+    }
+
+    /**
+     * Tests a word against the constraints.
+     *
+     * @param letterMask Mask of the letters contained in the word
+     * @param packedWord Letter codes of the word packed as in {@link WordCorpus}
+     * @return true if the word could be the winning word for the play
+     */
+    public boolean matches(int letterMask, long packedWord) {
+        if ((letterMask & excludedMask) != 0 || (letterMask & requiredMask) != requiredMask) return false;
+        for (int i = 0 ; i < wordLength ; i++) {
+            if ((allowedMasks[i] & (1 << WordCorpus.unpack(packedWord, i))) == 0) return false;
+        }
+
+        for (int letters = countMask & letterMask ; letters != 0 ; letters &= letters - 1) {
+            int code = Integer.numberOfTrailingZeros(letters);
+            int count = 0;
+            for (int i = 0 ; i < wordLength ; i++) {
+                if (WordCorpus.unpack(packedWord, i) == code) count++;
+            }
+            if (count < minCounts[code] || count > maxCounts[code]) return false;
+        }
+        return true;
+    }
+
+    public int getWordLength() {
+        return wordLength;
+    }
+
+    public int getExcludedMask() {
+        return excludedMask;
+    }
+
+    public int getRequiredMask() {
+        return requiredMask;
+    }
+
+    public int getCountMask() {
+        return countMask;
+    }
+
+    public int getAllowedMask(int position) {
+        return allowedMasks[position];
+    }
+
+    /**
+     * @return Minimum number of times the letter appears in the word
+     */
+    public int getMinCount(int code) {
+        return minCounts[code];
+    }
+
+    /**
+     * @return Maximum number of times the letter appears in the word, at most the length of the word
+     */
+    public int getMaxCount(int code) {
+        return maxCounts[code];
+    }
+
+    public boolean isSatisfiable() {
+        return satisfiable;
+    }
+
+    /**
+     * @return Approximate number of bytes the constraints take in memory
+     */
+    public int estimatedBytes() {
+        //object header and fields, plus the header and elements of each array
+        return 48 + (16 + 4 * allowedMasks.length) + 2 * (16 + Alphabet.SIZE);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PlayConstraints)) return false;
+        PlayConstraints that = (PlayConstraints) o;
+        return wordLength == that.wordLength
+                && satisfiable == that.satisfiable
+                && Arrays.equals(allowedMasks, that.allowedMasks)
+                && Arrays.equals(minCounts, that.minCounts)
+                && Arrays.equals(maxCounts, that.maxCounts);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Boolean.hashCode(satisfiable);
+        result = 31 * result + Arrays.hashCode(allowedMasks);
+        result = 31 * result + Arrays.hashCode(minCounts);
+        result = 31 * result + Arrays.hashCode(maxCounts);
+        return result;
+    }
+}
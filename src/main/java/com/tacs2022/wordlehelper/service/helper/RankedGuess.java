@@ -0,0 +1,45 @@
+package com.tacs2022.wordlehelper.service.helper;
+
+import java.util.Comparator;
+
+/**
+ * Guess scored by the expected information, in bits, it reveals about the answer.
+ */
+public final class RankedGuess {
+
+    /**
+     * Orders guesses from best to worst: higher score first, then guesses that could be the answer,
+     * then corpus order, so rankings do not depend on how the work was split.
+     */
+    public static final Comparator<RankedGuess> BEST_FIRST = Comparator.comparingDouble(RankedGuess::getScore).reversed()
+            .thenComparing(RankedGuess::isPossibleAnswer, Comparator.reverseOrder())
+            .thenComparingInt(RankedGuess::getOrdinal);
+
+    private final int ordinal;
+    private final String word;
+    private final double score;
+    private final boolean possibleAnswer;
+
+    public RankedGuess(int ordinal, String word, double score, boolean possibleAnswer) {
+        this.ordinal = ordinal;
+        this.word = word;
+        this.score = score;
+        this.possibleAnswer = possibleAnswer;
+    }
+
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    public String getWord() {
+        return word;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public boolean isPossibleAnswer() {
+        return possibleAnswer;
+    }
+}
@@ -0,0 +1,75 @@
+package com.tacs2022.wordlehelper.service.helper;
+
+import com.tacs2022.wordlehelper.domain.Language;
+
+/**
+ * Simulation of the solver running in the background, see {@link SolverSimulator}. It's polled by its id
+ * until it's done or failed.
+ */
+public final class SimulationJob {
+
+    public enum Status {
+        RUNNING,
+        DONE,
+        FAILED
+    }
+
+    private final String id;
+    private final Language language;
+    private final int wordLength;
+    private final boolean hardMode;
+    private volatile Status status = Status.RUNNING;
+    private volatile SimulationResult result;
+    private volatile String error;
+
+    public SimulationJob(String id, Language language, int wordLength, boolean hardMode) {
+        this.id = id;
+        this.language = language;
+        this.wordLength = wordLength;
+        this.hardMode = hardMode;
+    }
+
+    public void complete(SimulationResult result) {
+        this.result = result;
+        this.status = Status.DONE;
+    }
+
+    public void fail(String error) {
+        this.error = error;
+        this.status = Status.FAILED;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Language getLanguage() {
+        return language;
+    }
+
+    public int getWordLength() {
+        return wordLength;
+    }
+
+    public boolean isHardMode() {
+        return hardMode;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return Guesses taken to solve each word, or null until the simulation is done
+     */
+    public SimulationResult getResult() {
+        return result;
+    }
+
+    /**
+     * @return Why the simulation failed, or null if it didn't
+     */
+    public String getError() {
+        return error;
+    }
+}
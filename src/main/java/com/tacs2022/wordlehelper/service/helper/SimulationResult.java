@@ -0,0 +1,108 @@
+package com.tacs2022.wordlehelper.service.helper;
+
+import com.tacs2022.wordlehelper.domain.Language;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Guesses {@link SolverSimulator} took to solve each word of a corpus, with the figures strategies are
+ * compared by.
+ */
+public final class SimulationResult {
+
+    /**
+     * Guesses a game allows, answers that take more are counted as not solved.
+     */
+    public static final int MAX_GUESSES = 6;
+
+    private final WordCorpus corpus;
+    private final boolean hardMode;
+    private final int[][] paths;
+    private final Duration wallTime;
+
+    SimulationResult(WordCorpus corpus, boolean hardMode, int[][] paths, Duration wallTime) {
+        this.corpus = corpus;
+        this.hardMode = hardMode;
+        this.paths = paths;
+        this.wallTime = wallTime;
+    }
+
+    public Language getLanguage() {
+        return corpus.getLanguage();
+    }
+
+    public int getWordLength() {
+        return corpus.getWordLength();
+    }
+
+    public boolean isHardMode() {
+        return hardMode;
+    }
+
+    public int getAnswers() {
+        return paths.length;
+    }
+
+    /**
+     * @param answer Ordinal of the answer in the corpus
+     * @return Words guessed to solve the answer, the last one being the answer
+     */
+    public List<String> guesses(int answer) {
+        List<String> guesses = new ArrayList<>(paths[answer].length);
+        for (int guess : paths[answer]) guesses.add(corpus.word(guess));
+        return guesses;
+    }
+
+    /**
+     * @return Word guessed first for every answer, or null if the corpus is empty
+     */
+    public String getFirstGuess() {
+        return paths.length == 0 ? null : corpus.word(paths[0][0]);
+    }
+
+    public double getAverageGuesses() {
+        long total = 0;
+        for (int[] path : paths) total += path.length;
+        return paths.length == 0 ? 0 : (double) total / paths.length;
+    }
+
+    public int getMaxGuesses() {
+        int max = 0;
+        for (int[] path : paths) max = Math.max(max, path.length);
+        return max;
+    }
+
+    /**
+     * @return Number of answers solved in each number of guesses, indexed by the number of guesses
+     */
+    public int[] getDistribution() {
+        int[] distribution = new int[getMaxGuesses() + 1];
+        for (int[] path : paths) distribution[path.length]++;
+        return distribution;
+    }
+
+    /**
+     * @return Answers that took more than {@value #MAX_GUESSES} guesses, in corpus order
+     */
+    public List<String> getUnsolved() {
+        List<String> unsolved = new ArrayList<>();
+        for (int answer = 0 ; answer < paths.length ; answer++) {
+            if (paths[answer].length > MAX_GUESSES) unsolved.add(corpus.word(answer));
+        }
+        return unsolved;
+    }
+
+    public Duration getWallTime() {
+        return wallTime;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%d answers%s, first guess %s, %.4f guesses on average, at most %d, %d unsolved, in %d ms",
+                getAnswers(), hardMode ? " in hard mode" : "", getFirstGuess(), getAverageGuesses(), getMaxGuesses(),
+                getUnsolved().size(), wallTime.toMillis());
+    }
+}
@@ -0,0 +1,206 @@
+package com.tacs2022.wordlehelper.service.helper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Solves every word of a corpus as the answer of a game, guessing each round the best word ranked by
+ * {@link GuessRanker}, the same way suggestions are made, so strategies can be evaluated offline.
+ *
+ * Games are not played one by one: the guess of a round only depends on the guesses and colours of the
+ * previous rounds, so every answer that follows the same path shares its decisions. The simulation builds
+ * that decision tree over the {@link FeedbackMatrix} of the corpus, ranking once per node and solving the
+ * branches of each node in parallel on the given pool.
+ *
+ * In hard mode every guess must keep the hints revealed so far: green letters in place and at least as
+ * many occurrences of each letter as were coloured green or yellow in a previous guess.
+ *
+ * It can also be run from the command line over the word lists given as language:length:location
+ * (i.e.: "EN:5:helper/5letter-english.list"), matrices are stored in the temporary directory.
+ *
+ * Usage: SolverSimulator [--hard] language:length:location...
+ */
+public final class SolverSimulator {
+
+    //deadlines are compared by their difference, so this budget never runs out
+    private static final Duration UNBOUNDED = Duration.ofNanos(Long.MAX_VALUE);
+
+    private final ForkJoinPool pool;
+    private final GuessRanker guessRanker;
+
+    public SolverSimulator(ForkJoinPool pool) {
+        this.pool = pool;
+        this.guessRanker = new GuessRanker(pool);
+    }
+
+    /**
+     * @param matrix Patterns of the corpus whose words are solved
+     * @param hardMode Whether guesses must keep the hints of the previous ones
+     * @return Guesses taken to solve each word of the corpus
+     */
+    public SimulationResult simulate(FeedbackMatrix matrix, boolean hardMode) {
+        WordCorpus corpus = matrix.getCorpus();
+        int[][] paths = new int[corpus.size()][];
+        long start = System.nanoTime();
+
+        if (corpus.size() > 0) {
+            long[] all = new long[(corpus.size() + Long.SIZE - 1) / Long.SIZE];
+            for (int ordinal = 0 ; ordinal < corpus.size() ; ordinal++) all[ordinal >>> 6] |= 1L << ordinal;
+            DecisionTask task = new DecisionTask(new SimulationContext(matrix, hardMode, paths), all, hardMode ? all : null, new int[0]);
+            if (ForkJoinTask.getPool() == pool) task.invoke();
+            else pool.invoke(task);
+        }
+
+        return new SimulationResult(corpus, hardMode, paths, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private static final class SimulationContext {
+        private final FeedbackMatrix matrix;
+        private final WordCorpus corpus;
+        private final boolean hardMode;
+        private final int solved;
+        //guesses of each answer, every answer is written by the task that solves it
+        private final int[][] paths;
+
+        private SimulationContext(FeedbackMatrix matrix, boolean hardMode, int[][] paths) {
+            this.matrix = matrix;
+            this.corpus = matrix.getCorpus();
+            this.hardMode = hardMode;
+            this.solved = Feedback.solved(corpus.getWordLength());
+            this.paths = paths;
+        }
+    }
+
+    /**
+     * Decides the next guess for the answers that are still possible after a path of guesses, and splits
+     * them by the colours the guess produces.
+     */
+    private final class DecisionTask extends RecursiveAction {
+        private final SimulationContext context;
+        private final long[] candidates;
+        private final long[] guesses;
+        private final int[] path;
+
+        private DecisionTask(SimulationContext context, long[] candidates, long[] guesses, int[] path) {
+            this.context = context;
+            this.candidates = candidates;
+            this.guesses = guesses;
+            this.path = path;
+        }
+
+        @Override
+        protected void compute() {
+            int guess = decide();
+            int[] nextPath = new int[path.length + 1];
+            System.arraycopy(path, 0, nextPath, 0, path.length);
+            nextPath[path.length] = guess;
+
+            long[][] branches = new long[Feedback.patternCount(context.corpus.getWordLength())][];
+            for (int block = 0 ; block < candidates.length ; block++) {
+                for (long bits = candidates[block] ; bits != 0 ; bits &= bits - 1) {
+                    int answer = block * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                    int pattern = context.matrix.pattern(guess, answer);
+                    if (pattern == context.solved) {
+                        context.paths[answer] = nextPath;
+                        continue;
+                    }
+                    if (branches[pattern] == null) branches[pattern] = new long[candidates.length];
+                    branches[pattern][block] |= 1L << answer;
+                }
+            }
+
+            List<DecisionTask> children = new ArrayList<>();
+            for (int pattern = 0 ; pattern < branches.length ; pattern++) {
+                if (branches[pattern] == null) continue;
+                long[] nextGuesses = context.hardMode ? keepingHints(guess, pattern) : null;
+                children.add(new DecisionTask(context, branches[pattern], nextGuesses, nextPath));
+            }
+            invokeAll(children);
+        }
+
+        /**
+         * With one or two possible answers no guess is better than one of them, which is also what the
+         * ranker picks since it prefers possible answers and then corpus order.
+         */
+        private int decide() {
+            int first = -1;
+            int count = 0;
+            for (int block = 0 ; block < candidates.length ; block++) {
+                if (candidates[block] == 0) continue;
+                if (first < 0) first = block * Long.SIZE + Long.numberOfTrailingZeros(candidates[block]);
+                count += Long.bitCount(candidates[block]);
+            }
+            if (count <= 2) return first;
+
+            return guessRanker.rank(context.matrix, candidates, guesses, 1, UNBOUNDED).getGuesses().get(0).getOrdinal();
+        }
+
+        /**
+         * Narrows the guesses allowed so far to the ones that keep the hints of the guess.
+         */
+        private long[] keepingHints(int guess, int pattern) {
+            WordCorpus corpus = context.corpus;
+            int[] guessCodes = corpus.letterCodes(guess);
+            int[] minCounts = new int[Alphabet.SIZE];
+            int[] greens = new int[guessCodes.length];
+            int colours = pattern;
+            for (int i = 0 ; i < guessCodes.length ; i++, colours /= 3) {
+                greens[i] = colours % 3 == Feedback.GREEN ? guessCodes[i] : -1;
+                if (colours % 3 != Feedback.GRAY) minCounts[guessCodes[i]]++;
+            }
+
+            long[] kept = guesses.clone();
+            int[] counts = new int[Alphabet.SIZE];
+            for (int block = 0 ; block < kept.length ; block++) {
+                for (long bits = kept[block] ; bits != 0 ; bits &= bits - 1) {
+                    int ordinal = block * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                    if (!keepsHints(corpus.letterCodes(ordinal), greens, minCounts, counts)) kept[block] &= ~(1L << ordinal);
+                }
+            }
+            return kept;
+        }
+
+        private boolean keepsHints(int[] codes, int[] greens, int[] minCounts, int[] counts) {
+            Arrays.fill(counts, 0);
+            for (int i = 0 ; i < codes.length ; i++) {
+                if (greens[i] >= 0 && codes[i] != greens[i]) return false;
+                counts[codes[i]]++;
+            }
+            for (int code = 0 ; code < Alphabet.SIZE ; code++) {
+                if (counts[code] < minCounts[code]) return false;
+            }
+            return true;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        boolean hardMode = false;
+        List<WordListSource> sources = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.equals("--hard")) hardMode = true;
+            else sources.addAll(WordListSource.parse(arg));
+        }
+        if (sources.isEmpty())
+            throw new IllegalArgumentException("Usage: SolverSimulator [--hard] language:length:location...");
+
+        Path directory = Paths.get(System.getProperty("java.io.tmpdir"), "wordle-helper");
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            SolverSimulator simulator = new SolverSimulator(pool);
+            for (WordListSource source : sources) {
+                FeedbackMatrix matrix = FeedbackMatrix.open(source.index().getCorpus(), directory, pool);
+                System.out.println(source.getLocation() + ": " + simulator.simulate(matrix, hardMode));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
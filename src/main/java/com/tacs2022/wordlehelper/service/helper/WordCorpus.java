@@ -0,0 +1,273 @@
+package com.tacs2022.wordlehelper.service.helper;
+
+import com.tacs2022.wordlehelper.domain.Language;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+/**
+ * Immutable, in-memory list of the words of a given language and length that the helper runs its queries
+ * against. Words are normalized once when the corpus is loaded so queries never touch the list files again.
+ *
+ * Words are not kept as strings: every word is packed in a long with the code of each letter (see
+ * {@link Alphabet}) taking {@value #BITS_PER_LETTER} bits, the letter in position i in the bits starting at
+ * i * {@value #BITS_PER_LETTER}. Along with it the corpus keeps a mask of the letters of the word, which is
+ * what plays are tested against. Strings are only built for the words that are returned to clients.
+ *
+ * Packed words and masks live off-heap, in direct buffers (or in a mapped file, see
+ * {@link #WordCorpus(Language, int, LongBuffer, IntBuffer, long)}), so the corpora stay out of the way of
+ * the garbage collector and add nothing to the heap but this object.
+ */
+public final class WordCorpus {
+
+    public static final int BITS_PER_LETTER = 5;
+    public static final int MAX_WORD_LENGTH = Long.SIZE / BITS_PER_LETTER;
+
+    private static final long LETTER_MASK = (1L << BITS_PER_LETTER) - 1;
+
+    private final Language language;
+    private final int wordLength;
+    private final LongBuffer packedWords;
+    private final IntBuffer letterMasks;
+    private final long checksum;
+
+    private WordCorpus(Language language, int wordLength, String[] words) {
+        this.language = language;
+        this.wordLength = wordLength;
+        this.packedWords = allocate(words.length * Long.BYTES).asLongBuffer();
+        this.letterMasks = allocate(words.length * Integer.BYTES).asIntBuffer();
+
+        for (int i = 0 ; i < words.length ; i++) {
+            long packed = 0;
+            int mask = 0;
+            for (int j = 0 ; j < wordLength ; j++) {
+                int code = Alphabet.codeOf(words[i].charAt(j));
+                packed |= (long) code << (j * BITS_PER_LETTER);
+                mask |= Alphabet.maskOf(code);
+            }
+            packedWords.put(i, packed);
+            letterMasks.put(i, mask);
+        }
+
+        CRC32 crc = new CRC32();
+        for (String word : words) {
+            crc.update(word.getBytes(StandardCharsets.UTF_8));
+            crc.update('\n');
+        }
+        this.checksum = crc.getValue();
+    }
+
+    /**
+     * Wraps words that were already packed, i.e.: read from a file.
+     *
+     * @param language Language of the words
+     * @param wordLength Length of the words
+     * @param packedWords Words packed as described in {@link WordCorpus}, one per position
+     * @param letterMasks Mask of the letters of each word
+     * @param checksum Checksum of the words, as returned by {@link #getChecksum()}
+     */
+    WordCorpus(Language language, int wordLength, LongBuffer packedWords, IntBuffer letterMasks, long checksum) {
+        if (packedWords.capacity() != letterMasks.capacity())
+            throw new IllegalArgumentException(packedWords.capacity() + " words do not match " + letterMasks.capacity() + " letter masks");
+        this.language = language;
+        this.wordLength = wordLength;
+        this.packedWords = packedWords;
+        this.letterMasks = letterMasks;
+        this.checksum = checksum;
+    }
+
+    private static ByteBuffer allocate(int bytes) {
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Builds a corpus from the given words, discarding case-insensitive duplicates and lines that are
+     * not words of the given length made of letters of the {@link Alphabet}.
+     *
+     * @param language Language of the words
+     * @param wordLength Length of the words, up to {@value #MAX_WORD_LENGTH}
+     * @param words Words in the order they should be returned by queries
+     * @return Corpus holding the words in upper case
+     */
+    public static WordCorpus of(Language language, int wordLength, List<String> words) {
+        if (wordLength < 1 || wordLength > MAX_WORD_LENGTH)
+            throw new IllegalArgumentException("Words must be between 1 and " + MAX_WORD_LENGTH + " letters long");
+
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String word : words) {
+            String trimmed = word.trim();
+            if (isValidWord(trimmed, wordLength)) normalized.add(trimmed.toUpperCase());
+        }
+        return new WordCorpus(language, wordLength, normalized.toArray(new String[0]));
+    }
+
+    private static boolean isValidWord(String word, int wordLength) {
+        if (word.length() != wordLength) return false;
+        for (int i = 0 ; i < wordLength ; i++) {
+            if (Alphabet.codeOf(word.charAt(i)) == Alphabet.INVALID) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Loads a corpus from a word list in the classpath with one word per line.
+     *
+     * @param language Language of the words
+     * @param wordLength Length of the words
+     * @param resource Classpath location of the list (i.e.: "helper/5letter-english.list")
+     * @return Loaded corpus
+     */
+    public static WordCorpus fromClasspath(Language language, int wordLength, String resource) {
+        InputStream stream = WordCorpus.class.getClassLoader().getResourceAsStream(resource);
+        if (stream == null) throw new IllegalStateException("Word list not found in classpath: " + resource);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            return of(language, wordLength, reader.lines().collect(Collectors.toList()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read word list " + resource, e);
+        }
+    }
+
+    /**
+     * Loads a corpus from a word list in the file system with one word per line.
+     *
+     * @param language Language of the words
+     * @param wordLength Length of the words
+     * @param file Location of the list
+     * @return Loaded corpus
+     */
+    public static WordCorpus fromFile(Language language, int wordLength, Path file) {
+        try {
+            return of(language, wordLength, Files.readAllLines(file, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read word list " + file, e);
+        }
+    }
+
+    public Language getLanguage() {
+        return language;
+    }
+
+    public int getWordLength() {
+        return wordLength;
+    }
+
+    public int size() {
+        return packedWords.capacity();
+    }
+
+    /**
+     * @param ordinal Position of the word in the corpus
+     * @return Word in upper case, as it is returned to clients
+     */
+    public String word(int ordinal) {
+        long packed = packedWords.get(ordinal);
+        char[] letters = new char[wordLength];
+        for (int i = 0 ; i < wordLength ; i++) {
+            letters[i] = Alphabet.letterOf((int) (packed & LETTER_MASK));
+            packed >>>= BITS_PER_LETTER;
+        }
+        return new String(letters);
+    }
+
+    /**
+     * @param ordinal Position of the word in the corpus
+     * @return Codes of the letters of the word packed as described in {@link WordCorpus}
+     */
+    public long packedWord(int ordinal) {
+        return packedWords.get(ordinal);
+    }
+
+    /**
+     * @param ordinal Position of the word in the corpus
+     * @return Mask with the bits of every letter contained in the word
+     */
+    public int letterMask(int ordinal) {
+        return letterMasks.get(ordinal);
+    }
+
+    /**
+     * @param ordinal Position of the word in the corpus
+     * @param position Position of the letter in the word
+     * @return Code of the letter in the given position
+     */
+    public int letterCode(int ordinal, int position) {
+        return unpack(packedWords.get(ordinal), position);
+    }
+
+    /**
+     * @param packedWord Letter codes of a word packed as described in {@link WordCorpus}
+     * @param position Position of the letter in the word
+     * @return Code of the letter in the given position
+     */
+    public static int unpack(long packedWord, int position) {
+        return (int) (packedWord >>> (position * BITS_PER_LETTER) & LETTER_MASK);
+    }
+
+    /**
+     * @param ordinal Position of the word in the corpus
+     * @return Codes of the letters of the word
+     */
+    public int[] letterCodes(int ordinal) {
+        int[] codes = new int[wordLength];
+        for (int i = 0 ; i < wordLength ; i++) codes[i] = letterCode(ordinal, i);
+        return codes;
+    }
+
+    /**
+     * Tests a word of the corpus against the given constraints.
+     *
+     * @param ordinal Position of the word in the corpus
+     * @param constraints Compiled play
+     * @return true if the word satisfies the constraints
+     */
+    public boolean matches(int ordinal, PlayConstraints constraints) {
+        return constraints.matches(letterMasks.get(ordinal), packedWords.get(ordinal));
+    }
+
+    /**
+     * @return CRC32 of the words of the corpus, used to tell whether data derived from it is stale
+     */
+    public long getChecksum() {
+        return checksum;
+    }
+
+    /**
+     * @return Read only view of the packed words, i.e.: to write them to a file
+     */
+    LongBuffer packedWords() {
+        return packedWords.asReadOnlyBuffer();
+    }
+
+    /**
+     * @return Read only view of the letter masks, i.e.: to write them to a file
+     */
+    IntBuffer letterMasks() {
+        return letterMasks.asReadOnlyBuffer();
+    }
+
+    /**
+     * @return Every word of the corpus, in order
+     */
+    public List<String> words() {
+        List<String> words = new ArrayList<>(size());
+        for (int i = 0 ; i < size() ; i++) words.add(word(i));
+        return words;
+    }
+}
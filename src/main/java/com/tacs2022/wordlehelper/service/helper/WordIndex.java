@@ -0,0 +1,314 @@
+package com.tacs2022.wordlehelper.service.helper;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Inverted index over the words of a {@link WordCorpus}. For every letter and count k it keeps the set of
+ * words that contain the letter at least k times, and for every (position, letter) pair the set of words
+ * that have the letter in that position.
+ * Sets are bitsets over word ordinals, so a play is resolved with a few AND / AND NOT operations over whole
+ * blocks of 64 words instead of testing each word.
+ *
+ * Like the words of the corpus, the sets are kept off-heap, one after the other in a single buffer: first
+ * the "at least k" sets for k = 1 to the length of the words, then the sets of each position. The bitsets
+ * returned by queries are regular arrays, since they are short lived.
+ */
+public final class WordIndex {
+
+    /**
+     * Number of words from which plays are resolved in parallel when a pool is given. Splitting pays off once a
+     * play takes about twice as long in a single thread as handing its blocks to the pool costs, which
+     * HelperBenchmark.candidatesOfLargeCorpus puts at around 8 microseconds. A play takes about 14 microseconds
+     * at 32768 words and 20 at 65536 (see src/jmh/helper-baseline.json).
+     */
+    public static final int PARALLEL_THRESHOLD = 65536;
+
+    //each task resolves at least this many blocks of 64 words
+    private static final int BLOCKS_PER_TASK = 256;
+
+    private static final AtomicLong GENERATIONS = new AtomicLong();
+
+    private final long generation = GENERATIONS.incrementAndGet();
+    private final WordCorpus corpus;
+    private final int blocks;
+    private final LongBuffer postings;
+
+    public WordIndex(WordCorpus corpus) {
+        this.corpus = corpus;
+        this.blocks = blocks(corpus.size());
+        this.postings = ByteBuffer.allocateDirect(postingsSize(corpus) * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+
+        int[] counts = new int[Alphabet.SIZE];
+        for (int i = 0 ; i < corpus.size() ; i++) {
+            int block = i >>> 6;
+            long bit = 1L << i;
+            Arrays.fill(counts, 0);
+            for (int position = 0 ; position < corpus.getWordLength() ; position++) {
+                int code = corpus.letterCode(i, position);
+                //the k-th occurrence of the letter puts the word in the set of words with at least k of them
+                set(atLeast(++counts[code], code) + block, bit);
+                set(inPosition(position, code) + block, bit);
+            }
+        }
+    }
+
+    /**
+     * Wraps postings that were already built for the corpus, i.e.: read from a file.
+     *
+     * @param corpus Corpus the postings were built for
+     * @param postings Postings laid out as described in {@link WordIndex}, of {@link #postingsSize} longs
+     */
+    WordIndex(WordCorpus corpus, LongBuffer postings) {
+        if (postings.capacity() != postingsSize(corpus))
+            throw new IllegalArgumentException("Postings of " + postings.capacity() + " longs do not match a corpus of " + corpus.size() + " words");
+        this.corpus = corpus;
+        this.blocks = blocks(corpus.size());
+        this.postings = postings;
+    }
+
+    private static int blocks(int words) {
+        return (words + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    /**
+     * @return Number of longs taken by the postings of the given corpus
+     */
+    static int postingsSize(WordCorpus corpus) {
+        return postingsSize(corpus.size(), corpus.getWordLength());
+    }
+
+    /**
+     * @return Number of longs taken by the postings of a corpus with the given number of words and length
+     */
+    static int postingsSize(int words, int wordLength) {
+        return 2 * wordLength * Alphabet.SIZE * blocks(words);
+    }
+
+    private void set(int offset, long bit) {
+        postings.put(offset, postings.get(offset) | bit);
+    }
+
+    /**
+     * @return Offset of the set of words with at least count occurrences of the letter
+     */
+    private int atLeast(int count, int code) {
+        return ((count - 1) * Alphabet.SIZE + code) * blocks;
+    }
+
+    /**
+     * @return Offset of the set of words with the letter in the given position
+     */
+    private int inPosition(int position, int code) {
+        return ((corpus.getWordLength() + position) * Alphabet.SIZE + code) * blocks;
+    }
+
+    /**
+     * @return Number that tells this index apart from every other index built or read while the application
+     * runs, even one of the same words (i.e.: after a word list is reloaded)
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * @return Read only view of the postings, i.e.: to write them to a file
+     */
+    LongBuffer postings() {
+        return postings.asReadOnlyBuffer();
+    }
+
+    public WordCorpus getCorpus() {
+        return corpus;
+    }
+
+    /**
+     * Resolves the set of words that satisfy the given constraints.
+     *
+     * @param constraints Compiled play
+     * @return Bitset with a bit set for the ordinal of every word that satisfies the constraints
+     */
+    public long[] candidates(PlayConstraints constraints) {
+        return candidates(constraints, null);
+    }
+
+    /**
+     * Resolves the set of words that satisfy the given constraints, splitting the blocks of the corpus across
+     * the given pool if it has at least {@value #PARALLEL_THRESHOLD} words. Each task writes its own range of
+     * blocks of the result, so there is nothing to merge.
+     *
+     * @param constraints Compiled play
+     * @param pool Pool to resolve large corpora in, or null to always resolve them in the calling thread
+     * @return Bitset with a bit set for the ordinal of every word that satisfies the constraints
+     */
+    public long[] candidates(PlayConstraints constraints, ForkJoinPool pool) {
+        return candidates(constraints, pool, PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Same as {@link #candidates(PlayConstraints, ForkJoinPool)}, with the number of words from which the
+     * blocks are split across the pool, i.e.: to measure where splitting pays off.
+     *
+     * @param parallelThreshold Number of words from which plays are resolved in the pool
+     */
+    public long[] candidates(PlayConstraints constraints, ForkJoinPool pool, int parallelThreshold) {
+        long[] result = new long[blocks];
+        if (!constraints.isSatisfiable()) return result;
+
+        List<Integer> required = new ArrayList<>();
+        List<Integer> excluded = new ArrayList<>();
+
+        int wordLength = corpus.getWordLength();
+        for (int code = 0 ; code < Alphabet.SIZE ; code++) {
+            int min = constraints.getMinCount(code);
+            int max = constraints.getMaxCount(code);
+            if (min > wordLength) return result;
+            if (min > 0) required.add(atLeast(min, code));
+            if (max < wordLength) excluded.add(atLeast(max + 1, code));
+        }
+
+        for (int position = 0 ; position < corpus.getWordLength() ; position++) {
+            int allowed = constraints.getAllowedMask(position);
+            if (Integer.bitCount(allowed) == 1) {
+                required.add(inPosition(position, Integer.numberOfTrailingZeros(allowed)));
+                continue;
+            }
+            for (int code = 0 ; code < Alphabet.SIZE ; code++) {
+                if ((allowed & Alphabet.maskOf(code)) == 0) excluded.add(inPosition(position, code));
+            }
+        }
+
+        int[] requiredOffsets = toArray(required);
+        int[] excludedOffsets = toArray(excluded);
+        //a play without postings only fills the result, there is nothing worth splitting
+        boolean parallel = pool != null && pool.getParallelism() > 1 && corpus.size() >= parallelThreshold
+                && requiredOffsets.length + excludedOffsets.length > 0;
+        if (!parallel) {
+            intersect(requiredOffsets, excludedOffsets, result, 0, blocks);
+        } else {
+            pool.invoke(new IntersectTask(requiredOffsets, excludedOffsets, result, 0, blocks));
+        }
+        return result;
+    }
+
+    private static int[] toArray(List<Integer> offsets) {
+        int[] array = new int[offsets.size()];
+        for (int i = 0 ; i < array.length ; i++) array[i] = offsets.get(i);
+        return array;
+    }
+
+    private void intersect(int[] required, int[] excluded, long[] result, int from, int to) {
+        for (int block = from ; block < to ; block++) {
+            long bits = block == blocks - 1 ? lastBlockMask() : -1L;
+            for (int i = 0 ; i < required.length && bits != 0 ; i++) bits &= postings.get(required[i] + block);
+            for (int i = 0 ; i < excluded.length && bits != 0 ; i++) bits &= ~postings.get(excluded[i] + block);
+            result[block] = bits;
+        }
+    }
+
+    private final class IntersectTask extends RecursiveAction {
+        private final int[] required;
+        private final int[] excluded;
+        private final long[] result;
+        private final int from;
+        private final int to;
+
+        private IntersectTask(int[] required, int[] excluded, long[] result, int from, int to) {
+            this.required = required;
+            this.excluded = excluded;
+            this.result = result;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BLOCKS_PER_TASK) {
+                intersect(required, excluded, result, from, to);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            IntersectTask left = new IntersectTask(required, excluded, result, from, middle);
+            left.fork();
+            new IntersectTask(required, excluded, result, middle, to).compute();
+            left.join();
+        }
+    }
+
+    private long lastBlockMask() {
+        int used = corpus.size() % Long.SIZE;
+        return used == 0 ? -1L : (1L << used) - 1;
+    }
+
+    /**
+     * @return Bitset with every word of the corpus
+     */
+    public long[] all() {
+        long[] all = new long[blocks];
+        Arrays.fill(all, -1L);
+        if (blocks > 0) all[blocks - 1] = lastBlockMask();
+        return all;
+    }
+
+    /**
+     * @param candidates Bitset returned by {@link #candidates(PlayConstraints)}
+     * @return Number of words in the set
+     */
+    public int count(long[] candidates) {
+        int count = 0;
+        for (long block : candidates) count += Long.bitCount(block);
+        return count;
+    }
+
+    /**
+     * Counts the letters of a set of words from the postings, without looking at the words themselves.
+     *
+     * @param candidates Bitset returned by {@link #candidates(PlayConstraints)}
+     * @return How many words of the set contain each letter, overall and in each position
+     */
+    public LetterHistogram histogram(long[] candidates) {
+        int wordLength = corpus.getWordLength();
+        int[] containing = new int[Alphabet.SIZE];
+        int[][] positional = new int[wordLength][Alphabet.SIZE];
+
+        for (int code = 0 ; code < Alphabet.SIZE ; code++) {
+            containing[code] = countIntersection(candidates, atLeast(1, code));
+            //a letter that is in none of the words is in no position either
+            if (containing[code] == 0) continue;
+            for (int position = 0 ; position < wordLength ; position++) {
+                positional[position][code] = countIntersection(candidates, inPosition(position, code));
+            }
+        }
+        return new LetterHistogram(count(candidates), containing, positional);
+    }
+
+    private int countIntersection(long[] candidates, int offset) {
+        int count = 0;
+        for (int block = 0 ; block < candidates.length ; block++) count += Long.bitCount(candidates[block] & postings.get(offset + block));
+        return count;
+    }
+
+    /**
+     * @param candidates Bitset returned by {@link #candidates(PlayConstraints)}
+     * @return Words in the set, in corpus order
+     */
+    public List<String> words(long[] candidates) {
+        List<String> words = new ArrayList<>(count(candidates));
+        for (int block = 0 ; block < candidates.length ; block++) {
+            long bits = candidates[block];
+            while (bits != 0) {
+                words.add(corpus.word(block * Long.SIZE + Long.numberOfTrailingZeros(bits)));
+                bits &= bits - 1;
+            }
+        }
+        return words;
+    }
+}
@@ -0,0 +1,128 @@
+package com.tacs2022.wordlehelper.service.helper;
+
+import com.tacs2022.wordlehelper.domain.Language;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Location of the word list of a language and word length. Lists are looked up in the classpath unless
+ * their location starts with "file:", in which case they are read from the file system.
+ */
+public final class WordListSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(WordListSource.class);
+
+    private static final String FILE_PREFIX = "file:";
+    private static final String CLASSPATH_PREFIX = "classpath:";
+
+    private final Language language;
+    private final int wordLength;
+    private final String location;
+
+    public WordListSource(Language language, int wordLength, String location) {
+        this.language = language;
+        this.wordLength = wordLength;
+        this.location = location;
+    }
+
+    /**
+     * Parses a comma separated list of sources written as language:length:location
+     * (i.e.: "EN:6:file:/data/6letter-english.list,ES:4:helper/4letter-spanish.list").
+     *
+     * @param sources Sources to parse, may be empty
+     * @return Parsed sources, in the same order
+     * @throws IllegalArgumentException if a source is not written as expected
+     */
+    public static List<WordListSource> parse(String sources) {
+        List<WordListSource> parsed = new ArrayList<>();
+        if (sources == null || sources.isBlank()) return parsed;
+
+        for (String source : sources.split(",")) {
+            String[] parts = source.trim().split(":", 3);
+            if (parts.length != 3)
+                throw new IllegalArgumentException("Word list must be written as language:length:location, but was " + source);
+            try {
+                parsed.add(new WordListSource(Language.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()), parts[2].trim()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid language or length in word list " + source, e);
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * @return Corpus with the words of the list
+     */
+    public WordCorpus load() {
+        if (isFile()) return WordCorpus.fromFile(language, wordLength, Paths.get(getPath()));
+        return WordCorpus.fromClasspath(language, wordLength, getPath());
+    }
+
+    /**
+     * Reads the index of the list from the {@link CorpusFile} compiled from it, if there is one, and
+     * otherwise builds it from the words of the list.
+     *
+     * @return Index of the words of the list
+     */
+    public WordIndex index() {
+        try {
+            Optional<WordIndex> compiled = compiled();
+            if (compiled.isPresent()) return compiled.get();
+        } catch (IOException | UncheckedIOException | IllegalStateException e) {
+            logger.warn("Could not read the compiled word list of {}, reading the list instead", location, e);
+        }
+        return new WordIndex(load());
+    }
+
+    private Optional<WordIndex> compiled() throws IOException {
+        if (!isFile()) return CorpusFile.fromClasspath(CorpusFile.locationOf(getPath()), language, wordLength);
+
+        Path list = Paths.get(getPath());
+        Path compiled = Paths.get(CorpusFile.locationOf(getPath()));
+        //a list that was edited after it was compiled is read again
+        if (!Files.exists(compiled) || Files.getLastModifiedTime(compiled).compareTo(Files.getLastModifiedTime(list)) < 0)
+            return Optional.empty();
+        return Optional.of(CorpusFile.map(compiled, language, wordLength));
+    }
+
+    /**
+     * @return Location of the list in the file system, or empty if it's in the classpath
+     */
+    public Optional<Path> getFile() {
+        return isFile() ? Optional.of(Paths.get(getPath())) : Optional.empty();
+    }
+
+    private boolean isFile() {
+        return location.startsWith(FILE_PREFIX);
+    }
+
+    public Language getLanguage() {
+        return language;
+    }
+
+    public int getWordLength() {
+        return wordLength;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    /**
+     * @return Location of the list in the file system or the classpath, without the prefix telling which
+     */
+    public String getPath() {
+        if (isFile()) return location.substring(FILE_PREFIX.length());
+        if (location.startsWith(CLASSPATH_PREFIX)) return location.substring(CLASSPATH_PREFIX.length());
+        return location;
+    }
+}
@@ -0,0 +1,35 @@
+package com.tacs2022.wordlehelper.service.helper;
+
+import java.util.List;
+
+/**
+ * Slice of a {@link CandidateSet} in corpus order. The cursor of the next page is the ordinal of its
+ * first word, so pages stay stable as long as the word list is not reloaded.
+ */
+public final class WordPage {
+
+    private final List<String> words;
+    private final Integer nextCursor;
+    private final int totalWords;
+
+    public WordPage(List<String> words, Integer nextCursor, int totalWords) {
+        this.words = words;
+        this.nextCursor = nextCursor;
+        this.totalWords = totalWords;
+    }
+
+    public List<String> getWords() {
+        return words;
+    }
+
+    /**
+     * @return Cursor of the next page, or null if this is the last one
+     */
+    public Integer getNextCursor() {
+        return nextCursor;
+    }
+
+    public int getTotalWords() {
+        return totalWords;
+    }
+}
@@ -0,0 +1,77 @@
+package com.tacs2022.wordlehelper;
+
+import com.tacs2022.wordlehelper.domain.Language;
+import com.tacs2022.wordlehelper.domain.play.WordPlay;
+import com.tacs2022.wordlehelper.service.helper.Alphabet;
+import com.tacs2022.wordlehelper.service.helper.CandidateSet;
+import com.tacs2022.wordlehelper.service.helper.LetterHistogram;
+import com.tacs2022.wordlehelper.service.helper.PlayConstraints;
+import com.tacs2022.wordlehelper.service.helper.WordCorpus;
+import com.tacs2022.wordlehelper.service.helper.WordIndex;
+import com.tacs2022.wordlehelper.service.helper.WordPage;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CandidateSetTest {
+
+    private static CandidateSet candidates(WordIndex index, WordPlay wordPlay){
+        return new CandidateSet(index, index.candidates(PlayConstraints.of(wordPlay, 5)));
+    }
+
+    @Test
+    void test_pages_coverEveryWordOnce(){
+        WordIndex index = new WordIndex(WordCorpus.fromClasspath(Language.EN, 5, "helper/5letter-english.list"));
+        CandidateSet set = candidates(index, new WordPlay("", "0E", ""));
+
+        List<String> paged = new ArrayList<>();
+        Integer cursor = 0;
+        while (cursor != null){
+            WordPage page = set.page(cursor, 100);
+            assertTrue(page.getWords().size() <= 100);
+            assertEquals(set.count(), page.getTotalWords());
+            paged.addAll(page.getWords());
+            cursor = page.getNextCursor();
+        }
+
+        assertEquals(set.words(), paged);
+    }
+
+    @Test
+    void test_next_skipsWordsNotInTheSet(){
+        WordIndex index = new WordIndex(WordCorpus.of(Language.EN, 5, List.of("LLAMA", "LEMON", "MELON", "ALLOW", "SALAD")));
+        CandidateSet set = candidates(index, new WordPlay("M", "", ""));
+
+        assertEquals(3, set.next(0));
+        assertEquals(3, set.next(3));
+        assertEquals(4, set.next(4));
+        assertEquals(CandidateSet.END, set.next(5));
+
+        WordPage page = set.page(0, 1);
+        assertEquals(List.of("ALLOW"), page.getWords());
+        assertEquals(4, page.getNextCursor());
+        assertNull(set.page(4, 1).getNextCursor());
+    }
+
+    @Test
+    void test_histogram_countsLettersOfTheSet(){
+        WordIndex index = new WordIndex(WordCorpus.fromClasspath(Language.ES, 5, "helper/5letter-spanish.list"));
+        CandidateSet set = candidates(index, new WordPlay("", "1R", "_A___"));
+        LetterHistogram histogram = set.histogram();
+
+        List<String> words = set.words();
+        assertEquals(words.size(), histogram.getTotalWords());
+        for (int code = 0 ; code < Alphabet.SIZE ; code++){
+            String letter = String.valueOf(Alphabet.letterOf(code));
+            assertEquals(words.stream().filter(w -> w.contains(letter)).count(), histogram.containing(code));
+            for (int position = 0 ; position < 5 ; position++){
+                int p = position;
+                assertEquals(words.stream().filter(w -> w.substring(p, p + 1).equals(letter)).count(), histogram.inPosition(position, code));
+            }
+        }
+        assertEquals(words.size(), histogram.inPosition(1, Alphabet.codeOf('A')));
+    }
+}
@@ -0,0 +1,70 @@
+package com.tacs2022.wordlehelper;
+
+import com.tacs2022.wordlehelper.domain.Language;
+import com.tacs2022.wordlehelper.domain.play.WordPlay;
+import com.tacs2022.wordlehelper.service.helper.CorpusFile;
+import com.tacs2022.wordlehelper.service.helper.PlayConstraints;
+import com.tacs2022.wordlehelper.service.helper.WordCorpus;
+import com.tacs2022.wordlehelper.service.helper.WordIndex;
+import com.tacs2022.wordlehelper.service.helper.WordListSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CorpusFileTest {
+
+    private static final List<String> WORDS = List.of("LLAMA", "LEMON", "MELON", "ALLOW", "SALAD", "ERROR", "MAMMA", "NI\u00D1OS");
+
+    private static List<String> wordsByPlay(WordIndex index, WordPlay wordPlay){
+        return index.words(index.candidates(PlayConstraints.of(wordPlay, 5)));
+    }
+
+    @Test
+    void test_mappedIndex_answersLikeTheBuiltOne(@TempDir Path directory) throws IOException {
+        WordIndex built = new WordIndex(WordCorpus.of(Language.EN, 5, WORDS));
+        Path file = directory.resolve("5letter-english" + CorpusFile.EXTENSION);
+        CorpusFile.write(built, file);
+
+        WordIndex mapped = CorpusFile.map(file, Language.EN, 5);
+
+        assertEquals(built.getCorpus().words(), mapped.getCorpus().words());
+        assertEquals(built.getCorpus().getChecksum(), mapped.getCorpus().getChecksum());
+        assertEquals(List.of("LEMON"), wordsByPlay(mapped, new WordPlay("RSW", "0M4O", "_E___")));
+        assertEquals(wordsByPlay(built, new WordPlay("", "1L", "")), wordsByPlay(mapped, new WordPlay("", "1L", "")));
+        assertEquals(built.histogram(built.all()).containing(0), mapped.histogram(mapped.all()).containing(0));
+    }
+
+    @Test
+    void test_invalidFiles_areRejected(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("5letter-english" + CorpusFile.EXTENSION);
+        CorpusFile.write(new WordIndex(WordCorpus.of(Language.EN, 5, WORDS)), file);
+
+        assertThrows(IllegalStateException.class, () -> CorpusFile.map(file, Language.ES, 5));
+        assertThrows(IllegalStateException.class, () -> CorpusFile.map(file, Language.EN, 6));
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(file, bytes);
+        assertThrows(IllegalStateException.class, () -> CorpusFile.map(file, Language.EN, 5));
+    }
+
+    @Test
+    void test_outdatedOrCorruptFiles_fallBackToTheList(@TempDir Path directory) throws IOException {
+        Path list = Files.write(directory.resolve("5letter-english.list"), WORDS);
+        Path file = directory.resolve("5letter-english" + CorpusFile.EXTENSION);
+        CorpusFile.write(new WordIndex(WordCorpus.of(Language.EN, 5, List.of("LEMON"))), file);
+        WordListSource source = new WordListSource(Language.EN, 5, "file:" + list);
+
+        Files.setLastModifiedTime(list, Files.getLastModifiedTime(file));
+        assertEquals(List.of("LEMON"), source.index().getCorpus().words());
+
+        Files.write(file, new byte[]{1, 2, 3});
+        assertEquals(WORDS, source.index().getCorpus().words());
+    }
+}
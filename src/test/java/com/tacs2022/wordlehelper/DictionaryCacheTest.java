@@ -0,0 +1,103 @@
+package com.tacs2022.wordlehelper;
+
+import com.tacs2022.wordlehelper.domain.Language;
+import com.tacs2022.wordlehelper.domain.dictionary.Word;
+import com.tacs2022.wordlehelper.exceptions.DictionaryUnavailableException;
+import com.tacs2022.wordlehelper.exceptions.NotFoundException;
+import com.tacs2022.wordlehelper.service.dictionaryapis.DictionaryAPI;
+import com.tacs2022.wordlehelper.service.dictionaryapis.DictionaryCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DictionaryCacheTest {
+
+    private static final Duration TTL = Duration.ofHours(24);
+    private static final Duration REFRESH_AFTER = Duration.ofHours(12);
+    private static final Duration MISS_TTL = Duration.ofMinutes(10);
+
+    private final AtomicLong time = new AtomicLong();
+    private final AtomicInteger lookups = new AtomicInteger();
+    private DictionaryCache cache;
+
+    @BeforeEach
+    void init(){
+        DictionaryAPI dictionaryAPI = (word, language) -> {
+            int lookup = lookups.incrementAndGet();
+            if (word.startsWith("x")) throw new NotFoundException("No dictionary entry found for " + word);
+            return new Word(word, "definition " + lookup, language);
+        };
+        //refreshes run on the calling thread, so they are done when the lookup returns
+        cache = new DictionaryCache(dictionaryAPI, 2, TTL, REFRESH_AFTER, MISS_TTL, time::get, Runnable::run);
+    }
+
+    private void advance(Duration duration){
+        time.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    void test_wordsAreLookedUpOnce(){
+        assertEquals("definition 1", cache.get("crane", Language.EN).getDefinition());
+        assertEquals("definition 1", cache.get("CRANE", Language.EN).getDefinition());
+        assertEquals("definition 2", cache.get("crane", Language.ES).getDefinition());
+
+        assertEquals(2, lookups.get());
+        assertEquals(1, cache.getStats().hitCount());
+        assertEquals(2, cache.getStats().loadCount());
+    }
+
+    @Test
+    void test_hotWords_areRefreshedInTheBackground(){
+        cache.get("crane", Language.EN);
+        advance(REFRESH_AFTER.plusMinutes(1));
+
+        //the stale definition is returned while the word is loaded again
+        assertEquals("definition 1", cache.get("crane", Language.EN).getDefinition());
+        assertEquals("definition 2", cache.get("crane", Language.EN).getDefinition());
+
+        advance(TTL.minus(Duration.ofMinutes(1)));
+        assertEquals("definition 2", cache.get("crane", Language.EN).getDefinition());
+    }
+
+    @Test
+    void test_lookupsRejectedByABusyExecutor_failWithoutBlocking(){
+        DictionaryAPI dictionaryAPI = (word, language) -> new Word(word, "definition " + lookups.incrementAndGet(), language);
+        DictionaryCache busyCache = new DictionaryCache(dictionaryAPI, 2, TTL, REFRESH_AFTER, MISS_TTL, time::get,
+                runnable -> { throw new RejectedExecutionException(); });
+
+        assertThrows(DictionaryUnavailableException.class, () -> busyCache.get("crane", Language.EN));
+        assertEquals(0, lookups.get());
+    }
+
+    @Test
+    void test_coldWords_expire(){
+        cache.get("crane", Language.EN);
+        advance(TTL);
+
+        assertEquals("definition 2", cache.get("crane", Language.EN).getDefinition());
+        assertEquals(2, cache.getStats().missCount());
+    }
+
+    @Test
+    void test_misses_areCachedForTheShorterTtl(){
+        assertThrows(NotFoundException.class, () -> cache.get("xyzzy", Language.EN));
+        advance(MISS_TTL.minusSeconds(1));
+        assertThrows(NotFoundException.class, () -> cache.get("XYZZY", Language.EN));
+        assertEquals(1, lookups.get());
+
+        advance(Duration.ofSeconds(1));
+        assertThrows(NotFoundException.class, () -> cache.get("xyzzy", Language.EN));
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    void test_refreshAfterTheTtl_isRejected(){
+        assertThrows(IllegalArgumentException.class, () -> new DictionaryCache((word, language) -> null, 10, REFRESH_AFTER, TTL, MISS_TTL, Runnable::run));
+    }
+}
@@ -0,0 +1,91 @@
+package com.tacs2022.wordlehelper;
+
+import com.tacs2022.wordlehelper.domain.Language;
+import com.tacs2022.wordlehelper.domain.dictionary.Word;
+import com.tacs2022.wordlehelper.exceptions.NotFoundException;
+import com.tacs2022.wordlehelper.service.DictionaryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DictionaryServiceTest {
+
+    private static final int REQUESTS = 64;
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final CountDownLatch answer = new CountDownLatch(1);
+    private ExecutorService dictionaryExecutor;
+    private ExecutorService clients;
+    private DictionaryService dictionaryService;
+
+    @BeforeEach
+    void init(){
+        dictionaryExecutor = Executors.newFixedThreadPool(4);
+        clients = Executors.newFixedThreadPool(REQUESTS);
+        //the dictionary takes its time to answer, until every client has asked for the word
+        dictionaryService = new DictionaryService((word, language) -> {
+            upstreamCalls.incrementAndGet();
+            try {
+                answer.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (word.equals("xyzzy")) throw new NotFoundException("No dictionary entry found for " + word);
+            return new Word(word, "a definition", language);
+        }, 100, Duration.ofHours(24), Duration.ofHours(12), Duration.ofMinutes(10), dictionaryExecutor);
+    }
+
+    @AfterEach
+    void shutdown(){
+        clients.shutdownNow();
+        dictionaryExecutor.shutdownNow();
+    }
+
+    private List<Future<Word>> lookUpConcurrently(String word) throws InterruptedException {
+        List<Future<Word>> lookups = new ArrayList<>();
+        for (int i = 0 ; i < REQUESTS ; i++) {
+            lookups.add(clients.submit(() -> dictionaryService.findByNameAndLanguage(word, Language.EN)));
+        }
+        //the dictionary answers once every lookup reached the cache, so none of them can be a plain hit
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (dictionaryService.getCache().getStats().requestCount() < REQUESTS && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(REQUESTS, dictionaryService.getCache().getStats().requestCount());
+        answer.countDown();
+        return lookups;
+    }
+
+    @Test
+    void test_concurrentLookups_shareOneUpstreamCall() throws Exception {
+        for (Future<Word> lookup : lookUpConcurrently("crane")) {
+            assertEquals(new Word("crane", "a definition", Language.EN), lookup.get(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(1, dictionaryService.getCache().getStats().loadCount());
+    }
+
+    @Test
+    void test_concurrentMisses_shareOneUpstreamCall() throws Exception {
+        for (Future<Word> lookup : lookUpConcurrently("xyzzy")) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> lookup.get(5, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof NotFoundException);
+        }
+
+        assertEquals(1, upstreamCalls.get());
+    }
+}
@@ -0,0 +1,122 @@
+package com.tacs2022.wordlehelper;
+
+import com.tacs2022.wordlehelper.domain.Language;
+import com.tacs2022.wordlehelper.service.helper.Feedback;
+import com.tacs2022.wordlehelper.service.helper.FeedbackMatrix;
+import com.tacs2022.wordlehelper.service.helper.WordCorpus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static com.tacs2022.wordlehelper.service.helper.Feedback.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeedbackTest {
+
+    private static final List<String> WORDS = List.of("ABIDE", "SPEED", "ERASE", "EERIE", "CRANE", "LLAMA");
+
+    private final WordCorpus corpus = WordCorpus.of(Language.EN, 5, WORDS);
+
+    @ParameterizedTest
+    @CsvSource({
+            "SPEED, ABIDE, WWYWY",
+            "SPEED, ERASE, YWYYW",
+            "EERIE, ERASE, GWYWG",
+            "ERASE, EERIE, GYWWG",
+            "LLAMA, ABIDE, WWYWW",
+            "CRANE, CRANE, GGGGG"
+    })
+    void test_pattern_duplicateLetters(String guess, String answer, String colours){
+        int pattern = Feedback.pattern(corpus.letterCodes(WORDS.indexOf(guess)), corpus, WORDS.indexOf(answer));
+        assertEquals(Feedback.parse(colours), pattern);
+    }
+
+    @Test
+    void test_parse(){
+        assertEquals(GRAY + YELLOW * 3 + GREEN * 81, Feedback.parse("wYWwG"));
+        assertEquals(Feedback.INVALID, Feedback.parse("WYXWG"));
+    }
+
+    @Test
+    void test_solved_isAllGreen(){
+        assertEquals(Feedback.parse("GGGGG"), Feedback.solved(5));
+        assertEquals(243, Feedback.patternCount(5));
+    }
+
+    @Test
+    void test_matrix_matchesComputedPatterns(@TempDir Path directory) throws IOException {
+        FeedbackMatrix matrix = FeedbackMatrix.open(corpus, directory);
+
+        for (int guess = 0 ; guess < corpus.size() ; guess++){
+            for (int answer = 0 ; answer < corpus.size() ; answer++){
+                assertEquals(Feedback.pattern(corpus.letterCodes(guess), corpus, answer), matrix.pattern(guess, answer));
+            }
+        }
+
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+        assertEquals(matrix.pattern(1, 0), FeedbackMatrix.open(corpus, directory).pattern(1, 0));
+    }
+
+    @Test
+    void test_matrix_replacesTheMatrixOfThePreviousCorpus(@TempDir Path directory) throws IOException {
+        FeedbackMatrix.open(corpus, directory);
+        FeedbackMatrix.open(WordCorpus.of(Language.ES, 5, WORDS), directory);
+        WordCorpus edited = WordCorpus.of(Language.EN, 5, WORDS.subList(1, WORDS.size()));
+        FeedbackMatrix.open(edited, directory);
+
+        try (var files = Files.list(directory)) {
+            //the spanish matrix is kept
+            assertEquals(List.of("feedback-en-5-" + String.format("%016x", edited.getChecksum()) + ".bin", "feedback-es-5"),
+                    files.map(file -> file.getFileName().toString())
+                            .map(name -> name.startsWith("feedback-es-5") ? "feedback-es-5" : name)
+                            .sorted()
+                            .collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void test_matrix_isNotSupportedForTooManyWords(){
+        List<String> words = new ArrayList<>();
+        for (int i = 0 ; words.size() <= FeedbackMatrix.MAX_WORDS ; i++){
+            words.add(String.valueOf(new char[]{(char) ('A' + i % 26), (char) ('A' + i / 26 % 26), (char) ('A' + i / 676 % 26), (char) ('A' + i / 17576 % 26), 'A'}));
+        }
+        WordCorpus large = WordCorpus.of(Language.EN, 5, words);
+
+        assertFalse(FeedbackMatrix.supports(large));
+        assertTrue(FeedbackMatrix.supports(WordCorpus.of(Language.EN, 5, words.subList(0, FeedbackMatrix.MAX_WORDS))));
+    }
+
+    @Test
+    void test_matrix_builtInParallelAsInSequence(@TempDir Path sequential, @TempDir Path parallel) throws IOException {
+        List<String> words = WordCorpus.fromClasspath(Language.EN, 5, "helper/5letter-english.list").words();
+        WordCorpus large = WordCorpus.of(Language.EN, 5, words.subList(0, 500));
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            FeedbackMatrix expected = FeedbackMatrix.open(large, sequential);
+            FeedbackMatrix matrix = FeedbackMatrix.open(large, parallel, pool);
+            for (int guess = 0 ; guess < large.size() ; guess++){
+                for (int answer = 0 ; answer < large.size() ; answer++){
+                    assertEquals(expected.pattern(guess, answer), matrix.pattern(guess, answer));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        //the temporary file was moved into place
+        try (var files = Files.list(parallel)) {
+            assertEquals(1, files.count());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.tacs2022.wordlehelper;
+
+import com.tacs2022.wordlehelper.domain.Language;
+import com.tacs2022.wordlehelper.domain.play.WordPlay;
+import com.tacs2022.wordlehelper.exceptions.NotFoundException;
+import com.tacs2022.wordlehelper.service.HelperBatchService;
+import com.tacs2022.wordlehelper.service.HelperService;
+import com.tacs2022.wordlehelper.service.helper.BatchPlay;
+import com.tacs2022.wordlehelper.service.helper.BatchResult;
+import com.tacs2022.wordlehelper.service.helper.PlayConstraints;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HelperBatchServiceTest {
+
+    private HelperService helperService;
+    private ExecutorService executor;
+    private HelperBatchService helperBatchService;
+
+    @BeforeEach
+    void init(){
+        helperService = new HelperService();
+        executor = Executors.newFixedThreadPool(2);
+        helperBatchService = new HelperBatchService(executor, 2);
+        ReflectionTestUtils.setField(helperBatchService, "helperService", helperService);
+    }
+
+    @AfterEach
+    void shutdown(){
+        executor.shutdown();
+    }
+
+    @Test
+    void test_getCandidates_keepsTheOrderOfThePlays(){
+        List<BatchPlay> plays = new ArrayList<>();
+        for (char letter = 'a' ; letter <= 'z' ; letter++){
+            Language language = letter % 2 == 0 ? Language.EN : Language.ES;
+            plays.add(new BatchPlay(PlayConstraints.of(new WordPlay("", "", letter + "____"), 5), language));
+            //rejected plays are skipped
+            if (letter % 5 == 0) plays.add(null);
+        }
+
+        List<BatchResult> results = helperBatchService.getCandidates(plays);
+
+        assertEquals(plays.size(), results.size());
+        for (int i = 0 ; i < plays.size() ; i++){
+            BatchPlay play = plays.get(i);
+            if (play == null) {
+                assertNull(results.get(i));
+                continue;
+            }
+            assertEquals(helperService.getCandidates(play.getConstraints(), play.getLanguage()).words(), results.get(i).getCandidates().words());
+        }
+    }
+
+    @Test
+    void test_getCandidates_failsOnlyThePlaysThatFail(){
+        List<BatchPlay> plays = new ArrayList<>();
+        for (char letter = 'a' ; letter <= 'z' ; letter++){
+            plays.add(new BatchPlay(PlayConstraints.of(new WordPlay("", "", letter + "____"), 5), Language.EN));
+        }
+        //there is no list of 9 letter words, and the last chunk is resolved in the executor
+        plays.add(new BatchPlay(PlayConstraints.of(new WordPlay("", "", "a________"), 9), Language.EN));
+
+        List<BatchResult> results = helperBatchService.getCandidates(plays);
+
+        BatchResult failed = results.get(plays.size() - 1);
+        assertNull(failed.getCandidates());
+        assertInstanceOf(NotFoundException.class, failed.getFailure());
+        for (BatchResult result : results.subList(0, plays.size() - 1)){
+            assertNull(result.getFailure());
+            assertNotNull(result.getCandidates());
+        }
+    }
+}
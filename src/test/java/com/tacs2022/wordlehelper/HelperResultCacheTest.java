@@ -0,0 +1,80 @@
+package com.tacs2022.wordlehelper;
+
+import com.tacs2022.wordlehelper.domain.Language;
+import com.tacs2022.wordlehelper.domain.play.WordPlay;
+import com.tacs2022.wordlehelper.service.helper.HelperResultCache;
+import com.tacs2022.wordlehelper.service.helper.PlayConstraints;
+import com.tacs2022.wordlehelper.service.helper.WordCorpus;
+import com.tacs2022.wordlehelper.service.helper.WordIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HelperResultCacheTest {
+
+    private static final List<String> WORDS = List.of("LLAMA", "LEMON", "MELON", "ALLOW", "SALAD", "ERROR", "MAMMA");
+
+    private WordIndex index;
+
+    @BeforeEach
+    void init(){
+        index = new WordIndex(WordCorpus.of(Language.EN, 5, WORDS));
+    }
+
+    private static PlayConstraints constraints(WordPlay wordPlay){
+        return PlayConstraints.of(wordPlay, 5);
+    }
+
+    @Test
+    void test_equivalentPlays_shareTheResult(){
+        HelperResultCache cache = new HelperResultCache(HelperResultCache.DEFAULT_MAX_BYTES);
+
+        long[] first = cache.candidates(index, constraints(new WordPlay("RSW", "0M4O", "_E___")));
+        long[] second = cache.candidates(index, constraints(new WordPlay("WSR", "4O0M", "_E___")));
+
+        assertSame(first, second);
+        assertEquals(List.of("LEMON"), index.words(second));
+        assertEquals(1, cache.getStats().missCount());
+        assertEquals(1, cache.getStats().hitCount());
+    }
+
+    @Test
+    void test_differentCorpus_isNotAHit(){
+        HelperResultCache cache = new HelperResultCache(HelperResultCache.DEFAULT_MAX_BYTES);
+        WordIndex otherIndex = new WordIndex(WordCorpus.of(Language.EN, 5, List.of("LEMON", "MELON")));
+        PlayConstraints constraints = constraints(new WordPlay("", "", "M____"));
+
+        assertEquals(List.of("MELON", "MAMMA"), index.words(cache.candidates(index, constraints)));
+        assertEquals(List.of("MELON"), otherIndex.words(cache.candidates(otherIndex, constraints)));
+        assertEquals(0, cache.getStats().hitCount());
+    }
+
+    @Test
+    void test_reloadedIndex_isNotAHit(){
+        HelperResultCache cache = new HelperResultCache(HelperResultCache.DEFAULT_MAX_BYTES);
+        //same words, so the same checksum, as a list read again after a reload
+        WordIndex reloaded = new WordIndex(WordCorpus.of(Language.EN, 5, WORDS));
+        PlayConstraints constraints = constraints(new WordPlay("", "", "M____"));
+
+        long[] first = cache.candidates(index, constraints);
+        long[] second = cache.candidates(reloaded, constraints);
+
+        assertNotSame(first, second);
+        assertEquals(0, cache.getStats().hitCount());
+    }
+
+    @Test
+    void test_sizeIsBoundedInBytes(){
+        HelperResultCache cache = new HelperResultCache(1024);
+
+        for (char letter = 'a' ; letter <= 'z' ; letter++){
+            cache.candidates(index, constraints(new WordPlay(String.valueOf(letter), "", "")));
+        }
+
+        assertTrue(cache.getWeightedBytes() <= 1024);
+        assertTrue(cache.getStats().evictionCount() > 0);
+    }
+}
@@ -2,15 +2,26 @@ package com.tacs2022.wordlehelper;
 
 import com.tacs2022.wordlehelper.domain.Language;
 import com.tacs2022.wordlehelper.domain.play.WordPlay;
+import com.tacs2022.wordlehelper.exceptions.NotFoundException;
 import com.tacs2022.wordlehelper.service.HelperService;
+import com.tacs2022.wordlehelper.service.WordListWatcher;
+import com.tacs2022.wordlehelper.service.helper.FeedbackMatrices;
+import com.tacs2022.wordlehelper.service.helper.HelperResultCache;
 import org.assertj.core.util.Lists;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -45,4 +56,55 @@ class HelperServiceTest {
         List<String> possibleWords = helperService.getWordsByPlay(emptyWordPlay, Language.ES);
         assertEquals(spanishListCount, possibleWords.size());
     }
+
+    @Test
+    void test_configuredWordLists_areIndexedByLanguageAndLength(@TempDir Path directory) throws IOException {
+        Path fourLetters = Files.write(directory.resolve("4letter-english.list"), List.of("LAMA", "LEMA", "MALE", "ALLO"));
+        Path sixLetters = Files.write(directory.resolve("6letter-spanish.list"), List.of("ARA\u00D1AS", "CABA\u00D1A", "MONTA\u00D1A"));
+        HelperService service = new HelperService(HelperResultCache.DEFAULT_MAX_BYTES,
+                "EN:4:file:" + fourLetters + ", ES:6:file:" + sixLetters);
+
+        assertEquals(List.of("LEMA", "MALE"), service.getCandidates(new WordPlay("", "0E", ""), Language.EN, 4).words());
+        assertEquals(List.of("ARA\u00D1AS", "CABA\u00D1A"), service.getCandidates(new WordPlay("", "", "_____"), Language.ES, 6).words());
+        assertEquals(Set.of(4, 5), service.getWordLengths(Language.EN));
+        //the built-in lists are still there
+        assertEquals(helperService.getWordsByPlay(new WordPlay("KIR", "0W", "A_L__"), Language.EN),
+                service.getWordsByPlay(new WordPlay("KIR", "0W", "A_L__"), Language.EN));
+        assertThrows(NotFoundException.class, () -> service.getCandidates(new WordPlay("", "", ""), Language.EN, 7));
+    }
+
+    @Test
+    void test_reload_swapsInTheEditedLists(@TempDir Path directory) throws IOException {
+        Path list = Files.write(directory.resolve("4letter-english.list"), List.of("LAMA", "LEMA", "MALE"));
+        HelperService service = new HelperService(HelperResultCache.DEFAULT_MAX_BYTES, "EN:4:file:" + list);
+        WordPlay play = new WordPlay("", "", "L___");
+        assertEquals(List.of("LAMA", "LEMA"), service.getCandidates(play, Language.EN, 4).words());
+
+        Files.write(list, List.of("LAMA", "LOMA", "MALE"));
+        service.reload();
+        assertEquals(List.of("LAMA", "LOMA"), service.getCandidates(play, Language.EN, 4).words());
+
+        //a list that can't be read leaves the previous ones in place
+        Files.delete(list);
+        assertThrows(RuntimeException.class, service::reload);
+        assertEquals(List.of("LAMA", "LOMA"), service.getCandidates(play, Language.EN, 4).words());
+    }
+
+    @Test
+    void test_watcher_reloadsChangedLists(@TempDir Path directory) throws Exception {
+        Path list = Files.write(directory.resolve("4letter-english.list"), List.of("LAMA", "LEMA"));
+        HelperService service = new HelperService(HelperResultCache.DEFAULT_MAX_BYTES, "EN:4:file:" + list);
+        WordListWatcher watcher = new WordListWatcher(service, new FeedbackMatrices(directory.toString(), ForkJoinPool.commonPool()), true, Duration.ofMillis(50));
+        watcher.start();
+        try {
+            Files.write(list, List.of("LAMA", "LEMA", "LOMA"));
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (service.getIndex(Language.EN, 4).getCorpus().size() != 3 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertEquals(List.of("LAMA", "LEMA", "LOMA"), service.getIndex(Language.EN, 4).getCorpus().words());
+        } finally {
+            watcher.stop();
+        }
+    }
 }
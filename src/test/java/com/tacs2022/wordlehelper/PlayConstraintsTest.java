@@ -0,0 +1,51 @@
+package com.tacs2022.wordlehelper;
+
+import com.tacs2022.wordlehelper.domain.play.WordPlay;
+import com.tacs2022.wordlehelper.exceptions.InvalidPlayException;
+import com.tacs2022.wordlehelper.exceptions.InvalidPlayParameterException;
+import com.tacs2022.wordlehelper.exceptions.NullParametersException;
+import com.tacs2022.wordlehelper.service.helper.PlayConstraints;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayConstraintsTest {
+
+    @ParameterizedTest
+    @CsvSource(value = {
+            "ARBL, 0I4C, ____O",
+            "aRbL, 0i4C, ____o",
+            "LAMP, 0L2L, L____",
+            "\u00D1ABCD, 1\u00F1, _____",
+            "NULL, NULL, LEMON",
+            "'', 0L1E2M, '__MON'"
+    }, nullValues = "NULL")
+    void test_parse_compilesLikeTheWordPlay(String gray, String yellow, String green){
+        assertEquals(PlayConstraints.of(new WordPlay(gray, yellow, green), 5), PlayConstraints.parse(gray, yellow, green, 5));
+    }
+
+    @ParameterizedTest
+    @CsvSource(value = {
+            "ARBLS, 0I4, NULL, yellow, 3",
+            "ARBLS, I4C, NULL, yellow, 0",
+            "ARBLS, 0_, NULL, yellow, 1",
+            "ARBLS, 0I9A, NULL, yellow, 2",
+            "ERROR, 7E, _____, yellow, 0",
+            "ARBLS, NULL, LEMONS, green, -1",
+            "ARBLS, NULL, __1__, green, 2"
+    }, nullValues = "NULL")
+    void test_parse_rejectsMalformedParameters(String gray, String yellow, String green, String parameter, int position){
+        InvalidPlayParameterException e = assertThrows(InvalidPlayParameterException.class, () -> PlayConstraints.parse(gray, yellow, green, 5));
+        assertEquals(parameter, e.getParameter());
+        assertEquals(position < 0 ? null : position, e.getPosition());
+    }
+
+    @Test
+    void test_parse_rejectsShortOrMissingPlays(){
+        assertThrows(NullParametersException.class, () -> PlayConstraints.parse(null, null, null, 5));
+        assertThrows(InvalidPlayException.class, () -> PlayConstraints.parse("AB", "0C", "", 5));
+        assertThrows(InvalidPlayException.class, () -> PlayConstraints.parse("__", "", "_____", 5));
+    }
+}
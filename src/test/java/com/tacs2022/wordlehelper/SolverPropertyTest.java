@@ -0,0 +1,124 @@
+package com.tacs2022.wordlehelper;
+
+import com.tacs2022.wordlehelper.domain.Language;
+import com.tacs2022.wordlehelper.domain.play.LetterColor;
+import com.tacs2022.wordlehelper.domain.play.LetterPlay;
+import com.tacs2022.wordlehelper.domain.play.WordPlay;
+import com.tacs2022.wordlehelper.service.helper.PlayConstraints;
+import com.tacs2022.wordlehelper.service.helper.WordCorpus;
+import com.tacs2022.wordlehelper.service.helper.WordIndex;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Plays random games over the english corpus and checks the helper against a brute force scorer:
+ * the words it returns must be exactly the ones that would have produced the same colours.
+ */
+class SolverPropertyTest {
+
+    private static final int GAMES = 100;
+    private static final int MAX_ROUNDS = 4;
+
+    private static WordCorpus corpus;
+    private static WordIndex index;
+
+    @BeforeAll
+    static void init(){
+        corpus = WordCorpus.fromClasspath(Language.EN, 5, "helper/5letter-english.list");
+        index = new WordIndex(corpus);
+    }
+
+    /**
+     * Colours of a guess against an answer following the rules of the game: greens first, then yellows
+     * from left to right while the answer has occurrences of the letter that are not coloured yet.
+     */
+    private static String colours(String guess, String answer){
+        char[] colours = new char[guess.length()];
+        //letters of the answer that are not green and not yet used by a yellow
+        char[] unmatched = new char[answer.length()];
+
+        for (int i = 0 ; i < guess.length() ; i++){
+            if (guess.charAt(i) == answer.charAt(i)) colours[i] = 'G';
+            else unmatched[i] = answer.charAt(i);
+        }
+        for (int i = 0 ; i < guess.length() ; i++){
+            if (colours[i] == 'G') continue;
+            colours[i] = 'W';
+            for (int j = 0 ; j < unmatched.length ; j++){
+                if (unmatched[j] == guess.charAt(i)){
+                    colours[i] = 'Y';
+                    unmatched[j] = 0;
+                    break;
+                }
+            }
+        }
+        return new String(colours);
+    }
+
+    private static List<String> wordsByPlay(WordPlay wordPlay){
+        return index.words(index.candidates(PlayConstraints.of(wordPlay, 5)));
+    }
+
+    /**
+     * Flattens rounds the way the helper endpoint receives them: grey letters, yellow letters with their
+     * position and the green letters in place.
+     */
+    private static String[] flatten(WordPlay rounds){
+        StringBuilder gray = new StringBuilder();
+        StringBuilder yellow = new StringBuilder();
+        char[] green = "_____".toCharArray();
+
+        for (LetterPlay letterPlay : rounds.getLetters()){
+            if (letterPlay.getColor() == LetterColor.GRAY) gray.append(letterPlay.getLetter());
+            else if (letterPlay.getColor() == LetterColor.YELLOW) yellow.append(letterPlay.getPosition()).append(letterPlay.getLetter());
+            else green[letterPlay.getPosition()] = letterPlay.getLetter();
+        }
+        return new String[]{gray.toString(), yellow.toString(), new String(green)};
+    }
+
+    @Test
+    void test_randomGames_matchBruteForce(){
+        Random random = new Random(2022);
+
+        for (int game = 0 ; game < GAMES ; game++){
+            String answer = corpus.word(random.nextInt(corpus.size()));
+            List<String> guesses = new ArrayList<>();
+            WordPlay rounds = new WordPlay(null, null, null);
+
+            for (int round = 1 + random.nextInt(MAX_ROUNDS) ; round > 0 ; round--){
+                String guess = corpus.word(random.nextInt(corpus.size()));
+                guesses.add(guess);
+                rounds.addRound(guess, colours(guess, answer));
+            }
+
+            List<String> expected = new ArrayList<>();
+            for (int i = 0 ; i < corpus.size() ; i++){
+                String word = corpus.word(i);
+                if (guesses.stream().allMatch(guess -> colours(guess, word).equals(colours(guess, answer)))) expected.add(word);
+            }
+
+            String description = "answer " + answer + ", guesses " + guesses;
+            PlayConstraints constraints = PlayConstraints.of(rounds, 5);
+            List<String> linear = new ArrayList<>();
+            for (int i = 0 ; i < corpus.size() ; i++){
+                if (corpus.matches(i, constraints)) linear.add(corpus.word(i));
+            }
+
+            assertEquals(expected, wordsByPlay(rounds), description);
+            assertEquals(expected, linear, description);
+            //the flattened play loses which round each letter was played in, so it can only be looser
+            String[] params = flatten(rounds);
+            WordPlay flattenedPlay = new WordPlay(params[0], params[1], params[2]);
+            List<String> flattened = wordsByPlay(flattenedPlay);
+            assertTrue(flattened.containsAll(expected), description);
+            //and parsing the parameters directly compiles to the same play
+            assertEquals(PlayConstraints.of(flattenedPlay, 5), PlayConstraints.parse(params[0], params[1], params[2], 5), description);
+        }
+    }
+}
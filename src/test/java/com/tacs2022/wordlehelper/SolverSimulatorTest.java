@@ -0,0 +1,107 @@
+package com.tacs2022.wordlehelper;
+
+import com.tacs2022.wordlehelper.domain.Language;
+import com.tacs2022.wordlehelper.service.helper.Feedback;
+import com.tacs2022.wordlehelper.service.helper.FeedbackMatrix;
+import com.tacs2022.wordlehelper.service.helper.SimulationResult;
+import com.tacs2022.wordlehelper.service.helper.SolverSimulator;
+import com.tacs2022.wordlehelper.service.helper.WordCorpus;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolverSimulatorTest {
+
+    private static final int WORDS = 600;
+
+    private static WordCorpus corpus;
+    private static FeedbackMatrix matrix;
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void init(@TempDir Path directory) throws IOException {
+        List<String> words = WordCorpus.fromClasspath(Language.EN, 5, "helper/5letter-english.list").words();
+        corpus = WordCorpus.of(Language.EN, 5, words.subList(0, WORDS));
+        matrix = FeedbackMatrix.open(corpus, directory);
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void shutdown(){
+        pool.shutdown();
+    }
+
+    @Test
+    void test_simulation_solvesEveryAnswer(){
+        SimulationResult result = new SolverSimulator(pool).simulate(matrix, false);
+
+        assertEquals(WORDS, result.getAnswers());
+        assertEquals(WORDS, Arrays.stream(result.getDistribution()).sum());
+        for (int answer = 0 ; answer < WORDS ; answer++) {
+            List<String> guesses = result.guesses(answer);
+            assertEquals(corpus.word(answer), guesses.get(guesses.size() - 1));
+            assertEquals(result.getFirstGuess(), guesses.get(0));
+        }
+        assertTrue(result.getAverageGuesses() > 1 && result.getAverageGuesses() <= result.getMaxGuesses());
+    }
+
+    @Test
+    void test_hardMode_keepsTheHintsOfEveryGuess(){
+        SimulationResult result = new SolverSimulator(pool).simulate(matrix, true);
+
+        for (int answer = 0 ; answer < WORDS ; answer++) {
+            List<String> guesses = result.guesses(answer);
+            for (int round = 1 ; round < guesses.size() ; round++) {
+                for (int previous = 0 ; previous < round ; previous++) {
+                    assertTrue(keepsHints(guesses.get(round), guesses.get(previous), corpus.word(answer)),
+                            guesses.get(round) + " does not keep the hints of " + guesses.get(previous) + " for " + corpus.word(answer));
+                }
+            }
+        }
+    }
+
+    @Test
+    void test_simulation_doesNotDependOnParallelism(){
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            SimulationResult parallel = new SolverSimulator(pool).simulate(matrix, false);
+            SimulationResult sequential = new SolverSimulator(single).simulate(matrix, false);
+            for (int answer = 0 ; answer < WORDS ; answer++) {
+                assertEquals(sequential.guesses(answer), parallel.guesses(answer));
+            }
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    /**
+     * Whether the guess keeps the green letters in place and the letters coloured green or yellow that
+     * the previous guess revealed, counted by brute force.
+     */
+    private static boolean keepsHints(String guess, String previous, String answer){
+        int pattern = Feedback.pattern(corpus.letterCodes(corpus.words().indexOf(previous)), corpus, corpus.words().indexOf(answer));
+        int[] colours = new int[previous.length()];
+        for (int i = 0 ; i < colours.length ; i++, pattern /= 3) colours[i] = pattern % 3;
+
+        for (int i = 0 ; i < previous.length() ; i++){
+            char letter = previous.charAt(i);
+            if (colours[i] == Feedback.GREEN && guess.charAt(i) != letter) return false;
+
+            long revealed = 0;
+            for (int j = 0 ; j < previous.length() ; j++){
+                if (previous.charAt(j) == letter && colours[j] != Feedback.GRAY) revealed++;
+            }
+            if (guess.chars().filter(c -> c == letter).count() < revealed) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,117 @@
+package com.tacs2022.wordlehelper;
+
+import com.tacs2022.wordlehelper.domain.Language;
+import com.tacs2022.wordlehelper.exceptions.NotFoundException;
+import com.tacs2022.wordlehelper.exceptions.SimulationInProgressException;
+import com.tacs2022.wordlehelper.exceptions.SuggestionsUnavailableException;
+import com.tacs2022.wordlehelper.service.HelperService;
+import com.tacs2022.wordlehelper.service.SuggestionService;
+import com.tacs2022.wordlehelper.service.helper.FeedbackMatrices;
+import com.tacs2022.wordlehelper.service.helper.HelperResultCache;
+import com.tacs2022.wordlehelper.service.helper.PlayConstraints;
+import com.tacs2022.wordlehelper.service.helper.SimulationJob;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestionServiceTest {
+
+    private static final List<String> WORDS = List.of("LAMA", "LEMA", "MALE", "MOLE", "LOMA", "TOMA", "TEMA", "MESA", "MASA", "PASA");
+
+    private ForkJoinPool helperPool;
+    private ForkJoinPool simulationPool;
+    private SuggestionService suggestionService;
+
+    @BeforeEach
+    void init(@TempDir Path directory) throws IOException {
+        Path list = Files.write(directory.resolve("4letter-english.list"), WORDS);
+        helperPool = new ForkJoinPool(2);
+        simulationPool = new ForkJoinPool(1);
+        suggestionService = new SuggestionService(helperPool, simulationPool);
+        ReflectionTestUtils.setField(suggestionService, "helperService",
+                new HelperService(HelperResultCache.DEFAULT_MAX_BYTES, "EN:4:file:" + list));
+        ReflectionTestUtils.setField(suggestionService, "feedbackMatrices",
+                new FeedbackMatrices(directory.toString(), helperPool));
+    }
+
+    @AfterEach
+    void shutdown(){
+        helperPool.shutdownNow();
+        simulationPool.shutdownNow();
+    }
+
+    @Test
+    void test_simulation_runsInTheBackgroundOneAtATime() throws InterruptedException {
+        //the only thread of the simulation pool is busy until released
+        CountDownLatch release = new CountDownLatch(1);
+        simulationPool.execute(() -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        SimulationJob job = suggestionService.startSimulation(Language.EN, 4, false);
+        assertEquals(SimulationJob.Status.RUNNING, job.getStatus());
+        assertThrows(SimulationInProgressException.class, () -> suggestionService.startSimulation(Language.EN, 4, true));
+
+        release.countDown();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (job.getStatus() == SimulationJob.Status.RUNNING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(SimulationJob.Status.DONE, job.getStatus());
+        assertEquals(WORDS.size(), job.getResult().getAnswers());
+        assertSame(job, suggestionService.getSimulation(job.getId()));
+        //the next one can start once it's done
+        assertNotEquals(job.getId(), suggestionService.startSimulation(Language.EN, 4, true).getId());
+    }
+
+    @Test
+    void test_suggestions_waitForTheMatrixAtMostTheBudget(@TempDir Path directory) {
+        //the only thread that builds the matrices is busy until released
+        ForkJoinPool matrixPool = new ForkJoinPool(1);
+        CountDownLatch release = new CountDownLatch(1);
+        matrixPool.execute(() -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        ReflectionTestUtils.setField(suggestionService, "feedbackMatrices", new FeedbackMatrices(directory.toString(), matrixPool));
+        PlayConstraints play = PlayConstraints.parse("XYZW", "", "____", 4);
+
+        try {
+            long start = System.nanoTime();
+            assertThrows(SuggestionsUnavailableException.class, () -> suggestionService.getSuggestions(play, Language.EN, 3, Duration.ofMillis(50)));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+
+            release.countDown();
+            assertEquals(3, suggestionService.getSuggestions(play, Language.EN, 3, Duration.ofSeconds(5)).getGuesses().size());
+        } finally {
+            release.countDown();
+            matrixPool.shutdownNow();
+        }
+    }
+
+    @Test
+    void test_unknownSimulation_isNotFound(){
+        assertThrows(NotFoundException.class, () -> suggestionService.getSimulation("unknown"));
+    }
+}
@@ -0,0 +1,132 @@
+package com.tacs2022.wordlehelper;
+
+import com.tacs2022.wordlehelper.domain.Language;
+import com.tacs2022.wordlehelper.domain.play.WordPlay;
+import com.tacs2022.wordlehelper.service.helper.PlayConstraints;
+import com.tacs2022.wordlehelper.service.helper.WordCorpus;
+import com.tacs2022.wordlehelper.service.helper.WordIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordIndexTest {
+
+    private static final List<String> WORDS = List.of("LLAMA", "LEMON", "MELON", "ALLOW", "SALAD", "ERROR", "MAMMA");
+
+    private WordIndex index;
+
+    @BeforeEach
+    void init(){
+        index = new WordIndex(WordCorpus.of(Language.EN, 5, WORDS));
+    }
+
+    private List<String> wordsByPlay(WordPlay wordPlay){
+        return index.words(index.candidates(PlayConstraints.of(wordPlay, 5)));
+    }
+
+    @Test
+    void test_emptyPlay_returnsAllWordsInCorpusOrder(){
+        assertEquals(WORDS, wordsByPlay(new WordPlay("", "", "")));
+        assertEquals(WORDS.size(), index.count(index.candidates(PlayConstraints.of(new WordPlay(null, null, null), 5))));
+    }
+
+    @Test
+    void test_emptyCorpus_returnsNoWords(){
+        WordIndex emptyIndex = new WordIndex(WordCorpus.of(Language.EN, 5, List.of()));
+        assertTrue(emptyIndex.words(emptyIndex.candidates(PlayConstraints.of(new WordPlay("", "", ""), 5))).isEmpty());
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void test_duplicateLetters(WordPlay wordPlay, List<String> expected){
+        assertEquals(expected, wordsByPlay(wordPlay));
+    }
+
+    private static Stream<Arguments> test_duplicateLetters() {
+        return Stream.of(
+                //yellow L in the first position excludes LLAMA even though it has another L
+                Arguments.of(new WordPlay("", "0L", ""), List.of("MELON", "ALLOW", "SALAD")),
+                //both L of LLAMA are green
+                Arguments.of(new WordPlay("", "", "LL___"), List.of("LLAMA")),
+                //the same letter yellow in two positions
+                Arguments.of(new WordPlay("", "0M4M", ""), List.of("LLAMA", "LEMON")),
+                //green and yellow of the same letter in different positions
+                Arguments.of(new WordPlay("", "3R", "E____"), List.of("ERROR")),
+                Arguments.of(new WordPlay("", "0M", "_AM__"), List.of()),
+                //yellow and green of the same letter in the same position can not be satisfied
+                Arguments.of(new WordPlay("", "2M", "MAM__"), List.of()),
+                //grey and yellow of the same letter: the letter is there exactly once
+                Arguments.of(new WordPlay("L", "0L", ""), List.of("MELON", "SALAD")),
+                //grey and green of the same letter: only the green one is there
+                Arguments.of(new WordPlay("M", "", "__M__"), List.of("LEMON")),
+                //a round of LLAMA against SALAD: one L that is not first nor second, and at least two A
+                Arguments.of(new WordPlay(null, null, null).addRound("LLAMA", "YWYWY"), List.of("SALAD"))
+        );
+    }
+
+    @Test
+    void test_letterNotInAlphabet_returnsNoWords(){
+        assertTrue(wordsByPlay(new WordPlay("", "", "?____")).isEmpty());
+        assertTrue(wordsByPlay(new WordPlay("", "0?", "")).isEmpty());
+    }
+
+    @Test
+    void test_candidates_matchLinearScan(){
+        WordCorpus corpus = WordCorpus.fromClasspath(Language.EN, 5, "helper/5letter-english.list");
+        WordIndex englishIndex = new WordIndex(corpus);
+        List<WordPlay> plays = List.of(
+                new WordPlay("KIR", "0W", "A_L__"),
+                new WordPlay("ARBLFUEGPS", "1I3C", "____O"),
+                new WordPlay("", "0S4E", "_T___"),
+                new WordPlay("QXZ", "", ""),
+                new WordPlay("E", "1E", "_____"),
+                new WordPlay(null, null, null).addRound("EERIE", "WYWWG").addRound("SPEED", "WWYWW")
+        );
+
+        for (WordPlay play : plays) {
+            PlayConstraints constraints = PlayConstraints.of(play, 5);
+            List<String> expected = new ArrayList<>();
+            for (int i = 0 ; i < corpus.size() ; i++) {
+                if (corpus.matches(i, constraints)) expected.add(corpus.word(i));
+            }
+            assertEquals(expected, englishIndex.words(englishIndex.candidates(constraints)));
+        }
+    }
+
+    @Test
+    void test_largeCorpus_resolvesInParallelAsInSequence(){
+        Random random = new Random(7);
+        List<String> words = new ArrayList<>();
+        for (int i = 0 ; i < WordIndex.PARALLEL_THRESHOLD + 1000 ; i++) {
+            char[] letters = new char[5];
+            for (int j = 0 ; j < letters.length ; j++) letters[j] = (char) ('A' + random.nextInt(26));
+            words.add(new String(letters));
+        }
+        WordIndex largeIndex = new WordIndex(WordCorpus.of(Language.EN, 5, words));
+        List<WordPlay> plays = List.of(
+                new WordPlay("KIR", "0W", "A_L__"),
+                new WordPlay("QXZ", "", ""),
+                new WordPlay("", "", "")
+        );
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (WordPlay play : plays) {
+                PlayConstraints constraints = PlayConstraints.of(play, 5);
+                assertArrayEquals(largeIndex.candidates(constraints), largeIndex.candidates(constraints, pool));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}